@@ -0,0 +1,137 @@
+/*
+ * Copyright (C) 2012 Neo Visionaries Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+import java.util.Random;
+
+
+/**
+ * Compares {@link CountryCodeDecoder} implementations with a loop of
+ * {@link CountryCode#getByCode(String)} over the same column.
+ *
+ * <pre>
+ * java -cp bin CountryCodeDecoderBenchmark [rows]
+ * java --add-modules jdk.incubator.vector -cp bin CountryCodeDecoderBenchmark [rows]
+ * </pre>
+ */
+public class CountryCodeDecoderBenchmark
+{
+    private static final int ITERATIONS = 20;
+
+
+    public static void main(String[] args) throws Exception
+    {
+        int rows = (args.length > 0) ? Integer.parseInt(args[0]) : 1000000;
+
+        CountryCode[] values = CountryCode.values();
+        Random random = new Random(42);
+        StringBuilder alpha2 = new StringBuilder(rows * 2);
+        StringBuilder alpha3 = new StringBuilder(rows * 3);
+
+        for (int i = 0; i < rows; ++i)
+        {
+            CountryCode cc = values[random.nextInt(values.length)];
+
+            alpha2.append(cc.getAlpha2());
+            alpha3.append(cc.getAlpha3());
+        }
+
+        final byte[] column2 = alpha2.toString().getBytes("US-ASCII");
+        final byte[] column3 = alpha3.toString().getBytes("US-ASCII");
+        final int[] ordinals = new int[rows];
+
+        final CountryCodeDecoder best = CountryCodeDecoder.getInstance();
+        final CountryCodeDecoder scalar = CountryCodeDecoder.getScalarInstance();
+
+        System.out.println("rows = " + rows + ", decoder = " + best.getClass().getName());
+
+        for (int round = 0; round < 2; ++round)
+        {
+            boolean report = (round == 1);
+
+            run("getByCode alpha-2", report, rows, new Body() {
+                public long run() throws Exception { return getByCodeLoop(column2, 2, ordinals); }
+            });
+            run("scalar alpha-2", report, rows, new Body() {
+                public long run() { return scalar.decodeAlpha2(column2, 0, ordinals, 0, ordinals.length); }
+            });
+            run("best alpha-2", report, rows, new Body() {
+                public long run() { return best.decodeAlpha2(column2, 0, ordinals, 0, ordinals.length); }
+            });
+            run("getByCode alpha-3", report, rows, new Body() {
+                public long run() throws Exception { return getByCodeLoop(column3, 3, ordinals); }
+            });
+            run("scalar alpha-3", report, rows, new Body() {
+                public long run() { return scalar.decodeAlpha3(column3, 0, ordinals, 0, ordinals.length); }
+            });
+            run("best alpha-3", report, rows, new Body() {
+                public long run() { return best.decodeAlpha3(column3, 0, ordinals, 0, ordinals.length); }
+            });
+        }
+    }
+
+
+    /**
+     * The baseline: one String and one getByCode call per row.
+     */
+    private static long getByCodeLoop(byte[] column, int width, int[] ordinals) throws Exception
+    {
+        long missing = 0;
+
+        for (int i = 0, off = 0; i < ordinals.length; ++i, off += width)
+        {
+            CountryCode cc = CountryCode.getByCode(new String(column, off, width, "US-ASCII"));
+
+            if (cc == null)
+            {
+                ordinals[i] = -1;
+                ++missing;
+            }
+            else
+            {
+                ordinals[i] = cc.ordinal();
+            }
+        }
+
+        return missing;
+    }
+
+
+    private static void run(String label, boolean report, int rows, Body body) throws Exception
+    {
+        long sink = 0;
+        long start = System.nanoTime();
+
+        for (int i = 0; i < ITERATIONS; ++i)
+        {
+            sink += body.run();
+        }
+
+        long elapsed = System.nanoTime() - start;
+
+        if (report)
+        {
+            System.out.printf("%-20s %8.2f ns/row  (missing %d)%n",
+                    label, (double)elapsed / ITERATIONS / rows, sink);
+        }
+    }
+
+
+    private interface Body
+    {
+        long run() throws Exception;
+    }
+}
@@ -0,0 +1,182 @@
+/*
+ * Copyright (C) 2012 Neo Visionaries Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+
+/**
+ * Compares {@link CountryCodeExecutor} with a fixed thread pool sharing
+ * one FIFO queue, under skewed load.
+ *
+ * <p>
+ * A batch of tasks is submitted at once: 90% from three large countries
+ * and 10% spread over fifty small ones. Each task spins for a few
+ * microseconds. Reported are the throughput and the time tasks waited
+ * before starting, separately for large and small countries.
+ * </p>
+ *
+ * <pre>
+ * java -cp bin CountryCodeExecutorBenchmark [threads] [tasks] [taskMicros]
+ * </pre>
+ */
+public class CountryCodeExecutorBenchmark
+{
+    private static final CountryCode[] LARGE = { CountryCode.US, CountryCode.CN, CountryCode.IN };
+
+
+    public static void main(String[] args) throws Exception
+    {
+        int threads = (args.length > 0) ? Integer.parseInt(args[0]) : Runtime.getRuntime().availableProcessors();
+        int tasks = (args.length > 1) ? Integer.parseInt(args[1]) : 100000;
+        long taskNanos = ((args.length > 2) ? Long.parseLong(args[2]) : 10) * 1000L;
+
+        CountryCode[] countries = skewedCountries(tasks);
+
+        System.out.printf("threads = %d, tasks = %d, task = %d us%n", threads, tasks, taskNanos / 1000);
+        System.out.printf("%-10s %12s %14s %14s %14s %14s%n", "executor", "tasks/s",
+                "large p50 ms", "large p99 ms", "small p50 ms", "small p99 ms");
+
+        for (int round = 0; round < 2; ++round)
+        {
+            boolean report = (round == 1);
+
+            run("fixed", report, Executors.newFixedThreadPool(threads), false, countries, taskNanos);
+            run("country", report, new CountryCodeExecutor(threads), true, countries, taskNanos);
+        }
+    }
+
+
+    private static CountryCode[] skewedCountries(int tasks)
+    {
+        CountryCode[] values = CountryCode.values();
+        CountryCode[] countries = new CountryCode[tasks];
+        Random random = new Random(42);
+
+        for (int i = 0; i < tasks; ++i)
+        {
+            // Small countries: 50 ordinals from the end of the list.
+            countries[i] = (random.nextInt(10) < 9)
+                    ? LARGE[random.nextInt(LARGE.length)]
+                    : values[values.length - 1 - random.nextInt(50)];
+        }
+
+        return countries;
+    }
+
+
+    private static void run(String label, boolean report, ExecutorService executor, boolean byCountry,
+            CountryCode[] countries, final long taskNanos) throws Exception
+    {
+        final long[] waits = new long[countries.length];
+        long start = System.nanoTime();
+
+        for (int i = 0; i < countries.length; ++i)
+        {
+            final int task = i;
+            final long submitted = System.nanoTime();
+
+            Runnable runnable = new Runnable() {
+                public void run()
+                {
+                    long begin = System.nanoTime();
+
+                    waits[task] = begin - submitted;
+
+                    while (System.nanoTime() - begin < taskNanos)
+                    {
+                    }
+                }
+            };
+
+            if (byCountry)
+            {
+                ((CountryCodeExecutor)executor).execute(countries[i], runnable);
+            }
+            else
+            {
+                executor.execute(runnable);
+            }
+        }
+
+        executor.shutdown();
+        executor.awaitTermination(3600, TimeUnit.SECONDS);
+
+        long elapsed = System.nanoTime() - start;
+
+        if (report == false)
+        {
+            return;
+        }
+
+        long[] large = new long[countries.length];
+        long[] small = new long[countries.length];
+        int nLarge = 0, nSmall = 0;
+
+        for (int i = 0; i < countries.length; ++i)
+        {
+            if (isLarge(countries[i]))
+            {
+                large[nLarge++] = waits[i];
+            }
+            else
+            {
+                small[nSmall++] = waits[i];
+            }
+        }
+
+        Arrays.sort(large, 0, nLarge);
+        Arrays.sort(small, 0, nSmall);
+
+        System.out.printf("%-10s %12.0f %14.2f %14.2f %14.2f %14.2f%n", label,
+                countries.length * 1e9 / elapsed,
+                percentile(large, nLarge, 0.5), percentile(large, nLarge, 0.99),
+                percentile(small, nSmall, 0.5), percentile(small, nSmall, 0.99));
+    }
+
+
+    private static boolean isLarge(CountryCode cc)
+    {
+        for (CountryCode large : LARGE)
+        {
+            if (cc == large)
+            {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+
+    /**
+     * @return
+     *         The percentile in milliseconds.
+     */
+    private static double percentile(long[] sorted, int count, double p)
+    {
+        if (count == 0)
+        {
+            return 0;
+        }
+
+        return sorted[Math.min(count - 1, (int)(p * count))] / 1e6;
+    }
+}
@@ -0,0 +1,208 @@
+/*
+ * Copyright (C) 2012 Neo Visionaries Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+import java.util.Random;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicLong;
+
+
+/**
+ * Measures how {@link CountryCodeRateLimiter} scales with threads,
+ * against a map of synchronized token buckets.
+ *
+ * <p>
+ * Every thread acquires permits for countries drawn from a skewed
+ * distribution (half of the traffic from ten countries). The rate is
+ * high enough that most acquisitions succeed, so the numbers reflect
+ * the cost of updating shared state.
+ * </p>
+ *
+ * <pre>
+ * java -cp bin CountryCodeRateLimiterBenchmark [maxThreads] [millis]
+ * </pre>
+ */
+public class CountryCodeRateLimiterBenchmark
+{
+    private static final int KEYS = 1 << 16;
+    private static final double RATE = 1e8;
+    private static final int BURST = 1000;
+
+
+    public static void main(String[] args) throws Exception
+    {
+        int maxThreads = (args.length > 0) ? Integer.parseInt(args[0]) : Runtime.getRuntime().availableProcessors();
+        long millis = (args.length > 1) ? Long.parseLong(args[1]) : 1000;
+
+        final CountryCode[] keys = skewedKeys();
+
+        System.out.printf("%-8s %16s %16s%n", "threads", "limiter ops/s", "baseline ops/s");
+
+        for (int round = 0; round < 2; ++round)
+        {
+            boolean report = (round == 1);
+
+            for (int threads = 1; threads <= maxThreads; threads *= 2)
+            {
+                final CountryCodeRateLimiter limiter = new CountryCodeRateLimiter(RATE, BURST);
+                final SynchronizedLimiter baseline = new SynchronizedLimiter();
+
+                double a = run(threads, millis, new Body() {
+                    public boolean acquire(CountryCode cc) { return limiter.tryAcquire(cc); }
+                }, keys);
+
+                double b = run(threads, millis, new Body() {
+                    public boolean acquire(CountryCode cc) { return baseline.tryAcquire(cc); }
+                }, keys);
+
+                if (report)
+                {
+                    System.out.printf("%-8d %16.0f %16.0f%n", threads, a, b);
+                }
+            }
+        }
+    }
+
+
+    private static CountryCode[] skewedKeys()
+    {
+        CountryCode[] values = CountryCode.values();
+        CountryCode[] keys = new CountryCode[KEYS];
+        Random random = new Random(42);
+
+        for (int i = 0; i < KEYS; ++i)
+        {
+            keys[i] = random.nextBoolean() ? values[random.nextInt(10)] : values[random.nextInt(values.length)];
+        }
+
+        return keys;
+    }
+
+
+    /**
+     * @return
+     *         Acquisitions per second over all threads.
+     */
+    private static double run(int threads, final long millis, final Body body, final CountryCode[] keys) throws Exception
+    {
+        final CountDownLatch start = new CountDownLatch(1);
+        final CountDownLatch done = new CountDownLatch(threads);
+        final AtomicLong total = new AtomicLong();
+
+        for (int t = 0; t < threads; ++t)
+        {
+            final int seed = t * 7919;
+
+            new Thread() {
+                public void run()
+                {
+                    try
+                    {
+                        start.await();
+                    }
+                    catch (InterruptedException e)
+                    {
+                        return;
+                    }
+
+                    long deadline = System.nanoTime() + millis * 1000000L;
+                    long count = 0;
+                    int i = seed;
+
+                    while ((count & 0xFFF) != 0 || System.nanoTime() < deadline)
+                    {
+                        body.acquire(keys[i++ & (KEYS - 1)]);
+                        ++count;
+                    }
+
+                    total.addAndGet(count);
+                    done.countDown();
+                }
+            }.start();
+        }
+
+        // Threads finish their current batch after the deadline, so
+        // divide by the time actually taken.
+        long begin = System.nanoTime();
+
+        start.countDown();
+        done.await();
+
+        return total.get() * 1e9 / (System.nanoTime() - begin);
+    }
+
+
+    private interface Body
+    {
+        boolean acquire(CountryCode cc);
+    }
+
+
+    /**
+     * The baseline: one synchronized token bucket object per country
+     * in a concurrent map.
+     */
+    private static final class SynchronizedLimiter
+    {
+        private final ConcurrentHashMap<CountryCode, Bucket> buckets = new ConcurrentHashMap<CountryCode, Bucket>();
+
+
+        boolean tryAcquire(CountryCode cc)
+        {
+            Bucket bucket = buckets.get(cc);
+
+            if (bucket == null)
+            {
+                Bucket created = new Bucket();
+
+                bucket = buckets.putIfAbsent(cc, created);
+
+                if (bucket == null)
+                {
+                    bucket = created;
+                }
+            }
+
+            return bucket.tryAcquire();
+        }
+    }
+
+
+    private static final class Bucket
+    {
+        private double tokens = BURST;
+        private long last = System.nanoTime();
+
+
+        synchronized boolean tryAcquire()
+        {
+            long now = System.nanoTime();
+
+            tokens = Math.min(BURST, tokens + (now - last) * RATE / 1e9);
+            last = now;
+
+            if (tokens < 1)
+            {
+                return false;
+            }
+
+            tokens -= 1;
+
+            return true;
+        }
+    }
+}
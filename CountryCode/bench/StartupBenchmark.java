@@ -0,0 +1,217 @@
+/*
+ * Copyright (C) 2012 Neo Visionaries Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+
+/**
+ * Measures time to the first CountryCode lookup in a cold JVM.
+ *
+ * <p>
+ * Each measurement starts a fresh JVM that performs one lookup and
+ * reports how long the call took (including class initialization) and
+ * the JVM uptime when it returned. Runs are repeated per configuration
+ * and the medians are reported. Configurations:
+ * </p>
+ *
+ * <ul>
+ * <li>default: the JDK's default CDS archive</li>
+ * <li>no CDS: {@code -Xshare:off}</li>
+ * <li>AppCDS: a dynamic archive of the application classes, created by
+ *     a first run with {@code -XX:ArchiveClassesAtExit} (JDK 13+)</li>
+ * <li>native: a GraalVM native image, if its path is given with
+ *     {@code -Dnative=path}. The image is built with the settings in
+ *     {@code META-INF/native-image}, so CountryCode is initialized at
+ *     build time.</li>
+ * </ul>
+ *
+ * <pre>
+ * jar cf startup.jar -C bin .
+ * java -cp startup.jar StartupBenchmark [runs]
+ * native-image -cp startup.jar StartupBenchmark startup
+ * java -cp startup.jar -Dnative=./startup StartupBenchmark [runs]
+ * </pre>
+ */
+public class StartupBenchmark
+{
+    private static final String CHILD = "child";
+
+    /**
+     * Lookups to measure: alpha-2, alpha-3, numeric and a grouping query.
+     * Each one touches a different lazily built index.
+     */
+    private static final String[] LOOKUPS = { "JP", "JPN", "392", "EU" };
+
+
+    public static void main(String[] args) throws Exception
+    {
+        if (args.length >= 2 && CHILD.equals(args[0]))
+        {
+            child(args);
+            return;
+        }
+
+        int runs = (args.length > 0) ? Integer.parseInt(args[0]) : 10;
+        String java = System.getProperty("java.home") + File.separator + "bin" + File.separator + "java";
+        String classPath = System.getProperty("java.class.path");
+        File archive = File.createTempFile("countrycode", ".jsa");
+
+        archive.delete();
+
+        // Create the dynamic AppCDS archive. CDS only accepts JAR
+        // files (and empty directories) on the class path.
+        try
+        {
+            List<String> command = new ArrayList<String>(Arrays.asList(java,
+                    "-XX:ArchiveClassesAtExit=" + archive.getPath(), "-cp", classPath, "StartupBenchmark", CHILD));
+
+            // Train the archive with every lookup path.
+            command.addAll(Arrays.asList(LOOKUPS));
+
+            exec(command);
+        }
+        catch (IOException e)
+        {
+            System.out.println("AppCDS skipped; put the classes in a JAR to enable it.");
+            archive.delete();
+        }
+
+        System.out.printf("%-10s %-6s %16s %16s%n", "config", "lookup", "first call (us)", "uptime (ms)");
+
+        for (String lookup : LOOKUPS)
+        {
+            measure("default", lookup, runs, Arrays.asList(java, "-cp", classPath));
+            measure("no CDS", lookup, runs, Arrays.asList(java, "-Xshare:off", "-cp", classPath));
+
+            if (archive.exists())
+            {
+                measure("AppCDS", lookup, runs, Arrays.asList(java,
+                        "-XX:SharedArchiveFile=" + archive.getPath(), "-cp", classPath));
+            }
+
+            String image = System.getProperty("native");
+
+            if (image != null)
+            {
+                measure("native", lookup, runs, Arrays.asList(image));
+            }
+        }
+
+        archive.delete();
+    }
+
+
+    /**
+     * Runs in the child JVM: time the first lookup, then perform any
+     * further lookups untimed.
+     */
+    private static void child(String[] args)
+    {
+        long start = System.nanoTime();
+        Object result = lookup(args[1]);
+        long elapsed = System.nanoTime() - start;
+
+        for (int i = 2; i < args.length; ++i)
+        {
+            lookup(args[i]);
+        }
+
+        // Uptime is read after the measurement so that loading the
+        // management classes is not counted.
+        long uptime = java.lang.management.ManagementFactory.getRuntimeMXBean().getUptime();
+
+        System.out.println(elapsed / 1000 + " " + uptime + " " + result);
+    }
+
+
+    private static Object lookup(String code)
+    {
+        if (Character.isDigit(code.charAt(0)))
+        {
+            return CountryCode.getByCode(Integer.parseInt(code));
+        }
+
+        if (Region.getByCode(code) != null)
+        {
+            return CountryCode.inRegion(code).size();
+        }
+
+        return CountryCode.getByCode(code);
+    }
+
+
+    private static void measure(String label, String lookup, int runs, List<String> prefix) throws Exception
+    {
+        long[] firstCall = new long[runs];
+        long[] uptime = new long[runs];
+
+        for (int i = 0; i < runs; ++i)
+        {
+            List<String> command = new ArrayList<String>(prefix);
+
+            if (prefix.size() > 1)
+            {
+                command.add("StartupBenchmark");
+            }
+
+            command.add(CHILD);
+            command.add(lookup);
+
+            String[] fields = exec(command).trim().split(" ");
+
+            firstCall[i] = Long.parseLong(fields[0]);
+            uptime[i] = Long.parseLong(fields[1]);
+        }
+
+        System.out.printf("%-10s %-6s %16d %16d%n", label, lookup, median(firstCall), median(uptime));
+    }
+
+
+    private static String exec(List<String> command) throws IOException, InterruptedException
+    {
+        Process process = new ProcessBuilder(command).redirectErrorStream(true).start();
+        BufferedReader reader = new BufferedReader(new InputStreamReader(process.getInputStream()));
+        StringBuilder output = new StringBuilder();
+        String line;
+
+        while ((line = reader.readLine()) != null)
+        {
+            output.append(line).append('\n');
+        }
+
+        if (process.waitFor() != 0)
+        {
+            throw new IOException("Command failed: " + command + "\n" + output);
+        }
+
+        return output.toString();
+    }
+
+
+    private static long median(long[] values)
+    {
+        Arrays.sort(values);
+
+        return values[values.length / 2];
+    }
+}
@@ -0,0 +1,178 @@
+/*
+ * Copyright (C) 2012 Neo Visionaries Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+import jdk.incubator.vector.ByteVector;
+import jdk.incubator.vector.IntVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorShuffle;
+import jdk.incubator.vector.VectorSpecies;
+
+
+/**
+ * {@link CountryCodeDecoder} that validates and case-folds whole vectors
+ * of code bytes with the {@code jdk.incubator.vector} API.
+ *
+ * <p>
+ * Requires Java 16 or later, compiled and run with
+ * {@code --add-modules jdk.incubator.vector}.
+ * {@link CountryCodeDecoder#getInstance()} picks this class up
+ * automatically when it is on the class path and the module is resolved.
+ * </p>
+ *
+ * <p>
+ * Each byte is folded to upper case and reduced to 1..26, or to 0 if
+ * it is not a letter. One byte shuffle then moves the letters of each
+ * code into an int lane of its own, where they are combined into a
+ * packed code (see {@link PackedCountryCode}) and stored straight into
+ * the destination array; nothing is allocated per call. A packed code
+ * containing a 0 letter never matches a country, so invalid input needs
+ * no separate mask. The final packed-code to ordinal step is a lookup,
+ * in place, in a small table that stays in L1 cache.
+ * </p>
+ */
+public final class VectorCountryCodeDecoder extends CountryCodeDecoder
+{
+    private static final VectorSpecies<Byte> BYTES = ByteVector.SPECIES_PREFERRED;
+
+    /**
+     * Codes per vector: one per int lane.
+     */
+    private static final int LANES = BYTES.length() >>> 2;
+
+    private static final VectorShuffle<Byte> SPREAD_ALPHA2 = spread(2);
+    private static final VectorShuffle<Byte> SPREAD_ALPHA3 = spread(3);
+
+
+    public VectorCountryCodeDecoder()
+    {
+    }
+
+
+    @Override
+    public int decodeAlpha2(byte[] src, int srcOff, int[] dst, int dstOff, int count)
+    {
+        int missing = 0;
+        int i = 0;
+
+        // A whole vector is loaded though only its first half is used,
+        // so stop before it would reach past the column.
+        for (int end = srcOff + (count << 1) - BYTES.length(); srcOff + (i << 1) <= end; i += LANES)
+        {
+            // Little-endian: the first letter is the low byte of each lane.
+            IntVector v = letters(src, srcOff + (i << 1)).rearrange(SPREAD_ALPHA2).reinterpretAsInts();
+
+            v.and(0x1F)
+             .lanewise(VectorOperators.LSHL, 5)
+             .or(v.lanewise(VectorOperators.LSHR, 8).and(0x1F))
+             .intoArray(dst, dstOff + i);
+
+            missing += lookup(dst, dstOff + i, 2);
+        }
+
+        return missing + decodeAlpha2Scalar(src, srcOff + (i << 1), dst, dstOff + i, count - i);
+    }
+
+
+    @Override
+    public int decodeAlpha3(byte[] src, int srcOff, int[] dst, int dstOff, int count)
+    {
+        int missing = 0;
+        int i = 0;
+
+        // A whole vector is loaded though only three quarters of it are
+        // used, so stop before it would reach past the column.
+        for (int end = srcOff + count * 3 - BYTES.length(); srcOff + i * 3 <= end; i += LANES)
+        {
+            // Little-endian: the letters are bytes 0, 1 and 2 of each lane.
+            IntVector v = letters(src, srcOff + i * 3).rearrange(SPREAD_ALPHA3).reinterpretAsInts();
+
+            v.and(0x1F)
+             .lanewise(VectorOperators.LSHL, 10)
+             .or(v.lanewise(VectorOperators.LSHR, 3).and(0x1F << 5))
+             .or(v.lanewise(VectorOperators.LSHR, 16).and(0x1F))
+             .intoArray(dst, dstOff + i);
+
+            missing += lookup(dst, dstOff + i, 3);
+        }
+
+        return missing + decodeAlpha3Scalar(src, srcOff + i * 3, dst, dstOff + i, count - i);
+    }
+
+
+    /**
+     * Replace LANES packed codes in dst with their ordinals.
+     *
+     * @return
+     *         The number of codes that did not match a country.
+     */
+    private static int lookup(int[] dst, int off, int length)
+    {
+        int missing = 0;
+
+        for (int k = off, end = off + LANES; k < end; ++k)
+        {
+            int ordinal = (length == 2) ? ordinalOfPackedAlpha2(dst[k]) : ordinalOfPackedAlpha3(dst[k]);
+
+            if (ordinal < 0)
+            {
+                ++missing;
+            }
+
+            dst[k] = ordinal;
+        }
+
+        return missing;
+    }
+
+
+    /**
+     * Shuffle that moves the letters of code k to the low bytes of int
+     * lane k. The remaining bytes of the lane are masked off later.
+     */
+    private static VectorShuffle<Byte> spread(int length)
+    {
+        int[] indexes = new int[BYTES.length()];
+
+        for (int b = 0; b < indexes.length; ++b)
+        {
+            int lane = b >>> 2;
+            int letter = Math.min(b & 3, length - 1);
+
+            indexes[b] = lane * length + letter;
+        }
+
+        return VectorShuffle.fromArray(BYTES, indexes, 0);
+    }
+
+
+    /**
+     * Load a vector of bytes and map each to 1..26 if it is a letter
+     * of either case, or to 0 otherwise.
+     */
+    private static ByteVector letters(byte[] src, int off)
+    {
+        // Clearing bit 5 folds 'a'..'z' onto 'A'..'Z'. Bytes >= 0x80
+        // stay negative and fail the signed range check.
+        ByteVector folded = ByteVector.fromArray(BYTES, src, off).and((byte)0xDF);
+
+        VectorMask<Byte> letter = folded.compare(VectorOperators.GE, (byte)'A')
+                                        .and(folded.compare(VectorOperators.LE, (byte)'Z'));
+
+        return folded.and((byte)0x1F).blend((byte)0, letter.not());
+    }
+}
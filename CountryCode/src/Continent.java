@@ -0,0 +1,125 @@
+/*
+ * Copyright (C) 2012 Neo Visionaries Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+import java.util.HashMap;
+import java.util.Map;
+
+
+/**
+ * <a href="http://en.wikipedia.org/wiki/Continent">Continent</a>
+ * in the seven-continent model.
+ *
+ * <p>
+ * Each continent has a two-letter code as used by
+ * <a href="http://www.geonames.org/">GeoNames</a>. Use
+ * {@link CountryCode#onContinent(Continent)} to get the countries
+ * on a continent.
+ * </p>
+ */
+public enum Continent
+{
+    // @formatter:off
+    /** <a href="http://en.wikipedia.org/wiki/Africa">Africa</a> */
+    AFRICA("AF", "Africa"),
+
+    /** <a href="http://en.wikipedia.org/wiki/Antarctica">Antarctica</a> */
+    ANTARCTICA("AN", "Antarctica"),
+
+    /** <a href="http://en.wikipedia.org/wiki/Asia">Asia</a> */
+    ASIA("AS", "Asia"),
+
+    /** <a href="http://en.wikipedia.org/wiki/Europe">Europe</a> */
+    EUROPE("EU", "Europe"),
+
+    /** <a href="http://en.wikipedia.org/wiki/North_America">North America</a> */
+    NORTH_AMERICA("NA", "North America"),
+
+    /** <a href="http://en.wikipedia.org/wiki/Oceania">Oceania</a> */
+    OCEANIA("OC", "Oceania"),
+
+    /** <a href="http://en.wikipedia.org/wiki/South_America">South America</a> */
+    SOUTH_AMERICA("SA", "South America"),
+    ;
+    // @formatter:on
+
+
+    private static final Map<String, Continent> codeMap = new HashMap<String, Continent>();
+
+
+    static
+    {
+        for (Continent c : values())
+        {
+            codeMap.put(c.getCode(), c);
+        }
+    }
+
+
+    private final String code;
+    private final String name;
+
+
+    private Continent(String code, String name)
+    {
+        this.code = code;
+        this.name = name;
+    }
+
+
+    /**
+     * Get the two-letter continent code.
+     *
+     * @return
+     *         The two-letter continent code, e.g. "EU".
+     */
+    public String getCode()
+    {
+        return code;
+    }
+
+
+    /**
+     * Get the continent name.
+     *
+     * @return
+     *         The continent name.
+     */
+    public String getName()
+    {
+        return name;
+    }
+
+
+    /**
+     * Get a Continent that corresponds to a given two-letter code.
+     *
+     * @param code
+     *         A two-letter continent code, e.g. "EU".
+     *
+     * @return
+     *         A Continent instance, or null if not found.
+     */
+    public static Continent getByCode(String code)
+    {
+        if (code == null)
+        {
+            return null;
+        }
+
+        return codeMap.get(code);
+    }
+}
@@ -15,8 +15,16 @@
  */
 
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UnsupportedEncodingException;
+import java.nio.ByteBuffer;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.EnumSet;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.Set;
 
 
 /**
@@ -36,6 +44,14 @@ import java.util.Map;
  * {@link #getByCode(int)}).
  * </p>
  *
+ * <p>
+ * Each constant also carries its {@link Region region}, sub-region,
+ * {@link Continent continent} and currency. Countries grouped by these
+ * attributes are precomputed; see {@link #inRegion(Region)},
+ * {@link #isInRegion(CountryCode, Region)}, {@link #onContinent(Continent)}
+ * and {@link #withCurrency(String)}.
+ * </p>
+ *
  * <pre style="background-color: #EEEEEE; margin-left: 2em; margin-right: 2em; border: 1px solid black;">
  * <span style="color: darkgreen;">// EXAMPLE</span>
  *
@@ -60,784 +76,781 @@ public enum CountryCode
 {
     // @formatter:off
     /** <a href="http://en.wikipedia.org/wiki/Andorra">Andorra</a> */
-    AD("Andorra", "AND", 16,376 ),
+    AD("Andorra", "AND", 16,376, Region.SOUTHERN_EUROPE, Continent.EUROPE, "EUR"),
 
     /** <a href="http://en.wikipedia.org/wiki/United_Arab_Emirates">United Arab Emirates</a> */
-    AE("United Arab Emirates", "ARE", 784,971 ),
+    AE("United Arab Emirates", "ARE", 784,971, Region.WESTERN_ASIA, Continent.ASIA, "AED"),
 
     /** <a href="http://en.wikipedia.org/wiki/Afghanistan">Afghanistan</a> */
-    AF("Afghanistan", "AFG", 4,93 ),
+    AF("Afghanistan", "AFG", 4,93, Region.SOUTHERN_ASIA, Continent.ASIA, "AFN"),
 
     /** <a href="http://en.wikipedia.org/wiki/Antigua_and_Barbuda">Antigua and Barbuda</a> */
-    AG("Antigua and Barbuda", "ATG", 28,1268 ),
+    AG("Antigua and Barbuda", "ATG", 28,1268, Region.LATIN_AMERICA_AND_THE_CARIBBEAN, Continent.NORTH_AMERICA, "XCD"),
 
     /** <a href="http://en.wikipedia.org/wiki/Anguilla">Anguilla</a> */
-    AI("Anguilla", "AIA", 660,1264 ),
+    AI("Anguilla", "AIA", 660,1264, Region.LATIN_AMERICA_AND_THE_CARIBBEAN, Continent.NORTH_AMERICA, "XCD"),
 
     /** <a href="http://en.wikipedia.org/wiki/Albania">Albania</a> */
-    AL("Albania", "ALB", 8,355 ),
+    AL("Albania", "ALB", 8,355, Region.SOUTHERN_EUROPE, Continent.EUROPE, "ALL"),
 
     /** <a href="http://en.wikipedia.org/wiki/Armenia">Armenia</a> */
-    AM("Armenia", "ARM", 51,374 ),
+    AM("Armenia", "ARM", 51,374, Region.WESTERN_ASIA, Continent.ASIA, "AMD"),
 
     /** <a href="http://en.wikipedia.org/wiki/Netherlands_Antilles">Netherlands Antilles</a> */
-    AN("Netherlands Antilles", "ANT", 530,599 ),
+    AN("Netherlands Antilles", "ANT", 530,599, Region.LATIN_AMERICA_AND_THE_CARIBBEAN, Continent.NORTH_AMERICA, "ANG"),
 
     /** <a href="http://en.wikipedia.org/wiki/Angola">Angola</a> */
-    AO("Angola", "AGO", 24,244 ),
+    AO("Angola", "AGO", 24,244, Region.SUB_SAHARAN_AFRICA, Continent.AFRICA, "AOA"),
 
     /** <a href="http://en.wikipedia.org/wiki/Antarctica">Antarctica</a> */
-    AQ("Antarctica", "ATA", 10,672 ),
+    AQ("Antarctica", "ATA", 10,672, null, Continent.ANTARCTICA, null),
 
     /** <a href="http://en.wikipedia.org/wiki/Argentina">Argentina</a> */
-    AR("Argentina", "ARG", 32,54 ),
+    AR("Argentina", "ARG", 32,54, Region.LATIN_AMERICA_AND_THE_CARIBBEAN, Continent.SOUTH_AMERICA, "ARS"),
 
     /** <a href="http://en.wikipedia.org/wiki/American_Samoa">American Samoa</a> */
-    AS("American Samoa", "ASM", 16,1684),
+    AS("American Samoa", "ASM", 16,1684, Region.POLYNESIA, Continent.OCEANIA, "USD"),
 
     /** <a href="http://en.wikipedia.org/wiki/Austria">Austria</a> */
-    AT("Austria", "AUT", 40,43),
+    AT("Austria", "AUT", 40,43, Region.WESTERN_EUROPE, Continent.EUROPE, "EUR"),
 
     /** <a href="http://en.wikipedia.org/wiki/Australia">Australia</a> */
-    AU("Australia", "AUS", 36,61 ),
+    AU("Australia", "AUS", 36,61, Region.AUSTRALIA_AND_NEW_ZEALAND, Continent.OCEANIA, "AUD"),
 
     /** <a href="http://en.wikipedia.org/wiki/Aruba">Aruba</a> */
-    AW("Aruba", "ABW", 533,297 ),
+    AW("Aruba", "ABW", 533,297, Region.LATIN_AMERICA_AND_THE_CARIBBEAN, Continent.NORTH_AMERICA, "AWG"),
 
     /** <a href="http://en.wikipedia.org/wiki/%C3%85land_Islands">&Aring;land Islands</a> */
-    AX("\u212Bland Islands", "ALA", 248,0),
+    AX("\u212Bland Islands", "ALA", 248,0, Region.NORTHERN_EUROPE, Continent.EUROPE, "EUR"),
 
     /** <a href="http://en.wikipedia.org/wiki/Azerbaijan">Azerbaijan</a> */
-    AZ("Azerbaijan", "AZE", 31,994 ),
+    AZ("Azerbaijan", "AZE", 31,994, Region.WESTERN_ASIA, Continent.ASIA, "AZN"),
 
     /** <a href="http://en.wikipedia.org/wiki/Bosnia_and_Herzegovina">Bosnia and Herzegovina</a> */
-    BA("Bosnia and Herzegovina", "BIH", 70,387),
+    BA("Bosnia and Herzegovina", "BIH", 70,387, Region.SOUTHERN_EUROPE, Continent.EUROPE, "BAM"),
 
     /** <a href="http://en.wikipedia.org/wiki/Barbados">Barbados</a> */
-    BB("Barbados", "BRB", 52,1246 ),
+    BB("Barbados", "BRB", 52,1246, Region.LATIN_AMERICA_AND_THE_CARIBBEAN, Continent.NORTH_AMERICA, "BBD"),
 
     /** <a href="http://en.wikipedia.org/wiki/Bangladesh">Bangladesh</a> */
-    BD("Bangladesh", "BGD", 50,880 ),
+    BD("Bangladesh", "BGD", 50,880, Region.SOUTHERN_ASIA, Continent.ASIA, "BDT"),
 
     /** <a href="http://en.wikipedia.org/wiki/Belgium">Belgium</a> */
-    BE("Belgium", "BEL", 56,32),
+    BE("Belgium", "BEL", 56,32, Region.WESTERN_EUROPE, Continent.EUROPE, "EUR"),
 
     /** <a href="http://en.wikipedia.org/wiki/Burkina_Faso">Burkina Faso</a> */
-    BF("Burkina Faso", "BFA", 854,226 ),
+    BF("Burkina Faso", "BFA", 854,226, Region.SUB_SAHARAN_AFRICA, Continent.AFRICA, "XOF"),
 
     /** <a href="http://en.wikipedia.org/wiki/Bulgaria">Bulgaria</a> */
-    BG("Bulgaria", "BGR", 100,359 ),
+    BG("Bulgaria", "BGR", 100,359, Region.EASTERN_EUROPE, Continent.EUROPE, "EUR"),
 
     /** <a href="http://en.wikipedia.org/wiki/Bahrain">Bahrain</a> */
-    BH("Bahrain", "BHR", 48,973 ),
+    BH("Bahrain", "BHR", 48,973, Region.WESTERN_ASIA, Continent.ASIA, "BHD"),
 
     /** <a href="http://en.wikipedia.org/wiki/Burundi">Burundi</a> */
-    BI("Burundi", "BDI", 108,257 ),
+    BI("Burundi", "BDI", 108,257, Region.SUB_SAHARAN_AFRICA, Continent.AFRICA, "BIF"),
 
     /** <a href="http://en.wikipedia.org/wiki/Benin">Benin</a> */
-    BJ("Benin", "BEN", 204,229 ),
+    BJ("Benin", "BEN", 204,229, Region.SUB_SAHARAN_AFRICA, Continent.AFRICA, "XOF"),
 
     /** <a href="http://en.wikipedia.org/wiki/Saint_Barth%C3%A9lemy">Saint Barth&eacute;lemy</a> */
-    BL("Saint Barth\u00E9lemy", "BLM", 652,590 ),
+    BL("Saint Barth\u00E9lemy", "BLM", 652,590, Region.LATIN_AMERICA_AND_THE_CARIBBEAN, Continent.NORTH_AMERICA, "EUR"),
 
     /** <a href="http://en.wikipedia.org/wiki/Bermuda">Bermuda</a> */
-    BM("Bermuda", "BMU", 60,1441 ),
+    BM("Bermuda", "BMU", 60,1441, Region.NORTHERN_AMERICA, Continent.NORTH_AMERICA, "BMD"),
 
     /** <a href="http://en.wikipedia.org/wiki/Brunei">Brunei Darussalam</a> */
-    BN("Brunei Darussalam", "BRN", 96,673 ),
+    BN("Brunei Darussalam", "BRN", 96,673, Region.SOUTH_EASTERN_ASIA, Continent.ASIA, "BND"),
 
     /** <a href="http://en.wikipedia.org/wiki/Bolivia">Plurinational State of Bolivia</a> */
-    BO("Plurinational State of Bolivia", "BOL", 68,591 ),
+    BO("Plurinational State of Bolivia", "BOL", 68,591, Region.LATIN_AMERICA_AND_THE_CARIBBEAN, Continent.SOUTH_AMERICA, "BOB"),
 
     /** <a href="http://en.wikipedia.org/wiki/Caribbean_Netherlands">Bonaire, Sint Eustatius and Saba</a> */
-    BQ("Bonaire, Sint Eustatius and Saba", "BES", 535,0),
+    BQ("Bonaire, Sint Eustatius and Saba", "BES", 535,0, Region.LATIN_AMERICA_AND_THE_CARIBBEAN, Continent.NORTH_AMERICA, "USD"),
 
     /** <a href="http://en.wikipedia.org/wiki/Brazil">Brazil</a> */
-    BR("Brazil", "BRA", 76,55 ),
+    BR("Brazil", "BRA", 76,55, Region.LATIN_AMERICA_AND_THE_CARIBBEAN, Continent.SOUTH_AMERICA, "BRL"),
 
     /** <a href="http://en.wikipedia.org/wiki/The_Bahamas">Bahamas</a> */
-    BS("Bahamas", "BHS", 44,1242),
+    BS("Bahamas", "BHS", 44,1242, Region.LATIN_AMERICA_AND_THE_CARIBBEAN, Continent.NORTH_AMERICA, "BSD"),
 
     /** <a href="http://en.wikipedia.org/wiki/Bhutan">Bhutan</a> */
-    BT("Bhutan", "BTN", 64,975 ),
+    BT("Bhutan", "BTN", 64,975, Region.SOUTHERN_ASIA, Continent.ASIA, "BTN"),
 
     /** <a href="http://en.wikipedia.org/wiki/Bouvet_Island">Bouvet Island</a> */
-    BV("Bouvet Island", "BVT", 74,0),
+    BV("Bouvet Island", "BVT", 74,0, Region.LATIN_AMERICA_AND_THE_CARIBBEAN, Continent.ANTARCTICA, "NOK"),
 
     /** <a href="http://en.wikipedia.org/wiki/Botswana">Botswana</a> */
-    BW("Botswana", "BWA", 72,267),
+    BW("Botswana", "BWA", 72,267, Region.SUB_SAHARAN_AFRICA, Continent.AFRICA, "BWP"),
 
     /** <a href="http://en.wikipedia.org/wiki/Belarus">Belarus</a> */
-    BY("Belarus", "BLR", 112,375 ),
+    BY("Belarus", "BLR", 112,375, Region.EASTERN_EUROPE, Continent.EUROPE, "BYN"),
 
     /** <a href="http://en.wikipedia.org/wiki/Belize">Belize</a> */
-    BZ("Belize", "BLZ", 84,501 ),
+    BZ("Belize", "BLZ", 84,501, Region.LATIN_AMERICA_AND_THE_CARIBBEAN, Continent.NORTH_AMERICA, "BZD"),
 
     /** <a href="http://en.wikipedia.org/wiki/Canada">Canada</a> */
-    CA("Canada", "CAN", 124,1),
+    CA("Canada", "CAN", 124,1, Region.NORTHERN_AMERICA, Continent.NORTH_AMERICA, "CAD"),
 
     /** <a href="http://en.wikipedia.org/wiki/Cocos_(Keeling)_Islands">Cocos (Keeling) Islands</a> */
-    CC("Cocos Islands", "CCK", 166,61 ),
+    CC("Cocos Islands", "CCK", 166,61, Region.AUSTRALIA_AND_NEW_ZEALAND, Continent.ASIA, "AUD"),
 
     /** <a href="http://en.wikipedia.org/wiki/Democratic_Republic_of_the_Congo">The Democratic Republic of the Congo</a> */
-    CD("The Democratic Republic of the Congo", "COD", 180,243 ),
+    CD("The Democratic Republic of the Congo", "COD", 180,243, Region.SUB_SAHARAN_AFRICA, Continent.AFRICA, "CDF"),
 
     /** <a href="http://en.wikipedia.org/wiki/Central_African_Republic">Central African Republic</a> */
-    CF("Central African Republic", "CAF", 140,236 ),
+    CF("Central African Republic", "CAF", 140,236, Region.SUB_SAHARAN_AFRICA, Continent.AFRICA, "XAF"),
 
     /** <a href="http://en.wikipedia.org/wiki/Republic_of_the_Congo">Congo</a> */
-    CG("Congo", "COG", 178,242 ),
+    CG("Congo", "COG", 178,242, Region.SUB_SAHARAN_AFRICA, Continent.AFRICA, "XAF"),
 
     /** <a href="http://en.wikipedia.org/wiki/Switzerland">Switzerland</a> */
-    CH("Switzerland", "CHE", 756,41 ),
+    CH("Switzerland", "CHE", 756,41, Region.WESTERN_EUROPE, Continent.EUROPE, "CHF"),
 
     /** <a href="http://en.wikipedia.org/wiki/C%C3%B4te_d%27Ivoire">C&ocirc;te d'Ivoire</a> */
-    CI("C\u00F4te d'Ivoire", "CIV", 384,225 ),
+    CI("C\u00F4te d'Ivoire", "CIV", 384,225, Region.SUB_SAHARAN_AFRICA, Continent.AFRICA, "XOF"),
 
     /** <a href="http://en.wikipedia.org/wiki/Cook_Islands">Cook Islands</a> */
-    CK("Cook Islands", "COK", 184,682 ),
+    CK("Cook Islands", "COK", 184,682, Region.POLYNESIA, Continent.OCEANIA, "NZD"),
 
     /** <a href="http://en.wikipedia.org/wiki/Chile">Chile</a> */
-    CL("Chile", "CHL", 152,56),
+    CL("Chile", "CHL", 152,56, Region.LATIN_AMERICA_AND_THE_CARIBBEAN, Continent.SOUTH_AMERICA, "CLP"),
 
     /** <a href="http://en.wikipedia.org/wiki/Cameroon">Cameroon</a> */
-    CM("Cameroon", "CMR", 120,237 ),
+    CM("Cameroon", "CMR", 120,237, Region.SUB_SAHARAN_AFRICA, Continent.AFRICA, "XAF"),
 
     /** <a href="http://en.wikipedia.org/wiki/China">China</a> */
-    CN("China", "CHN", 156,86 ),
+    CN("China", "CHN", 156,86, Region.EASTERN_ASIA, Continent.ASIA, "CNY"),
 
     /** <a href="http://en.wikipedia.org/wiki/Colombia">Colombia</a> */
-    CO("Colombia", "COL", 170,57),
+    CO("Colombia", "COL", 170,57, Region.LATIN_AMERICA_AND_THE_CARIBBEAN, Continent.SOUTH_AMERICA, "COP"),
 
     /** <a href="http://en.wikipedia.org/wiki/Costa_Rica">Costa Rica</a> */
-    CR("Costa Rica", "CRI", 188,506),
+    CR("Costa Rica", "CRI", 188,506, Region.LATIN_AMERICA_AND_THE_CARIBBEAN, Continent.NORTH_AMERICA, "CRC"),
 
     /** <a href="http://en.wikipedia.org/wiki/Cuba">Cuba</a> */
-    CU("Cuba", "CUB", 192,53),
+    CU("Cuba", "CUB", 192,53, Region.LATIN_AMERICA_AND_THE_CARIBBEAN, Continent.NORTH_AMERICA, "CUP"),
 
     /** <a href="http://en.wikipedia.org/wiki/Cape_Verde">Cape Verde</a> */
-    CV("Cape Verde", "CPV", 132,),
+    CV("Cape Verde", "CPV", 132,238, Region.SUB_SAHARAN_AFRICA, Continent.AFRICA, "CVE"),
 
     /** <a href="http://en.wikipedia.org/wiki/Cura%C3%A7ao">Cura&ccedil;ao</a> */
-    CW("Cura/u00E7ao", "CUW", 531,238),
+    CW("Cura/u00E7ao", "CUW", 531,238, Region.LATIN_AMERICA_AND_THE_CARIBBEAN, Continent.NORTH_AMERICA, "XCG"),
 
     /** <a href="http://en.wikipedia.org/wiki/Christmas_Island">Christmas Island</a> */
-    CX("Christmas Island", "CXR", 162,61),
+    CX("Christmas Island", "CXR", 162,61, Region.AUSTRALIA_AND_NEW_ZEALAND, Continent.OCEANIA, "AUD"),
 
     /** <a href="http://en.wikipedia.org/wiki/Cyprus">Cyprus</a> */
-    CY("Cyprus", "CYP", 196,357),
+    CY("Cyprus", "CYP", 196,357, Region.WESTERN_ASIA, Continent.EUROPE, "EUR"),
 
     /** <a href="http://en.wikipedia.org/wiki/Czech_Republic">Czech Republic</a> */
-    CZ("Czech Republic", "CZE", 203,420),
+    CZ("Czech Republic", "CZE", 203,420, Region.EASTERN_EUROPE, Continent.EUROPE, "CZK"),
 
     /** <a href="http://en.wikipedia.org/wiki/Germany">Germany</a> */
-    DE("Germany", "DEU", 276,49),
+    DE("Germany", "DEU", 276,49, Region.WESTERN_EUROPE, Continent.EUROPE, "EUR"),
 
     /** <a href="http://en.wikipedia.org/wiki/Djibouti">Djibouti </a> */
-    DJ("Djibouti", "DJI", 262,253),
+    DJ("Djibouti", "DJI", 262,253, Region.SUB_SAHARAN_AFRICA, Continent.AFRICA, "DJF"),
 
     /** <a href="http://en.wikipedia.org/wiki/Denmark">Denmark</a> */
-    DK("Denmark", "DNK", 208,45),
+    DK("Denmark", "DNK", 208,45, Region.NORTHERN_EUROPE, Continent.EUROPE, "DKK"),
 
     /** <a href="http://en.wikipedia.org/wiki/Dominica">Dominica</a> */
-    DM("Dominica", "DMA", 212,1767),
+    DM("Dominica", "DMA", 212,1767, Region.LATIN_AMERICA_AND_THE_CARIBBEAN, Continent.NORTH_AMERICA, "XCD"),
 
     /** <a href="http://en.wikipedia.org/wiki/Dominican_Republic">Dominican Republic</a> */
-    DO("Dominican Republic", "DOM", 214,1809),
+    DO("Dominican Republic", "DOM", 214,1809, Region.LATIN_AMERICA_AND_THE_CARIBBEAN, Continent.NORTH_AMERICA, "DOP"),
 
     /** <a href="http://en.wikipedia.org/wiki/Algeria">Algeria</a> */
-    DZ("Algeria", "DZA", 12,213),
+    DZ("Algeria", "DZA", 12,213, Region.NORTHERN_AFRICA, Continent.AFRICA, "DZD"),
 
     /** <a href="http://en.wikipedia.org/wiki/Ecuador">Ecuador</a> */
-    EC("Ecuador", "ECU", 218,593),
+    EC("Ecuador", "ECU", 218,593, Region.LATIN_AMERICA_AND_THE_CARIBBEAN, Continent.SOUTH_AMERICA, "USD"),
 
     /** <a href="http://en.wikipedia.org/wiki/Estonia">Estonia</a> */
-    EE("Estonia", "EST", 233,372),
+    EE("Estonia", "EST", 233,372, Region.NORTHERN_EUROPE, Continent.EUROPE, "EUR"),
 
     /** <a href="http://en.wikipedia.org/wiki/Egypt">Egypt</a> */
-    EG("Egypt", "EGY", 818,20),
+    EG("Egypt", "EGY", 818,20, Region.NORTHERN_AFRICA, Continent.AFRICA, "EGP"),
 
     /** <a href="http://en.wikipedia.org/wiki/Western_Sahara">Western Sahara</a> */
-    EH("Western Sahara", "ESH", 732,0),
+    EH("Western Sahara", "ESH", 732,0, Region.NORTHERN_AFRICA, Continent.AFRICA, "MAD"),
 
     /** <a href="http://en.wikipedia.org/wiki/Eritrea">Eritrea</a> */
-    ER("Eritrea", "ERI", 232,291),
+    ER("Eritrea", "ERI", 232,291, Region.SUB_SAHARAN_AFRICA, Continent.AFRICA, "ERN"),
 
     /** <a href="http://en.wikipedia.org/wiki/Spain">Spain</a> */
-    ES("Spain", "ESP", 724,34),
+    ES("Spain", "ESP", 724,34, Region.SOUTHERN_EUROPE, Continent.EUROPE, "EUR"),
 
     /** <a href="http://en.wikipedia.org/wiki/Ethiopia">Ethiopia</a> */
-    ET("Ethiopia", "ETH", 231,251),
+    ET("Ethiopia", "ETH", 231,251, Region.SUB_SAHARAN_AFRICA, Continent.AFRICA, "ETB"),
 
     /** <a href="http://en.wikipedia.org/wiki/Finland">Finland</a> */
-    FI("Finland", "FIN", 246,358),
+    FI("Finland", "FIN", 246,358, Region.NORTHERN_EUROPE, Continent.EUROPE, "EUR"),
 
     /** <a href="http://en.wikipedia.org/wiki/Fiji">Fiji</a> */
-    FJ("Fiji", "FJI", 242,679),
+    FJ("Fiji", "FJI", 242,679, Region.MELANESIA, Continent.OCEANIA, "FJD"),
 
     /** <a href="http://en.wikipedia.org/wiki/Falkland_Islands">Falkland Islands (Malvinas)</a> */
-    FK("Falkland Islands", "FLK", 238,500),
+    FK("Falkland Islands", "FLK", 238,500, Region.LATIN_AMERICA_AND_THE_CARIBBEAN, Continent.SOUTH_AMERICA, "FKP"),
 
     /** <a href="http://en.wikipedia.org/wiki/Federated_States_of_Micronesia">Federated States of Micronesia</a> */
-    FM("Federated States of Micronesia", "FSM", 583,691),
+    FM("Federated States of Micronesia", "FSM", 583,691, Region.MICRONESIA, Continent.OCEANIA, "USD"),
 
     /** <a href="http://en.wikipedia.org/wiki/Faroe_Islands">Faroe Islands</a> */
-    FO("Faroe Islands", "FRO", 234,298),
+    FO("Faroe Islands", "FRO", 234,298, Region.NORTHERN_EUROPE, Continent.EUROPE, "DKK"),
 
     /** <a href="http://en.wikipedia.org/wiki/France">France</a> */
-    FR("France", "FRA", 250,33),
+    FR("France", "FRA", 250,33, Region.WESTERN_EUROPE, Continent.EUROPE, "EUR"),
 
     /** <a href="http://en.wikipedia.org/wiki/Gabon">Gabon </a> */
-    GA("Gabon", "GAB", 266,241),
+    GA("Gabon", "GAB", 266,241, Region.SUB_SAHARAN_AFRICA, Continent.AFRICA, "XAF"),
 
     /** <a href="http://en.wikipedia.org/wiki/United_Kingdom">United Kingdom</a> */
-    GB("United Kingdom", "GBR", 826,44),
+    GB("United Kingdom", "GBR", 826,44, Region.NORTHERN_EUROPE, Continent.EUROPE, "GBP"),
 
     /** <a href="http://en.wikipedia.org/wiki/Grenada">Grenada</a> */
-    GD("Grenada", "GRD", 308,1473),
+    GD("Grenada", "GRD", 308,1473, Region.LATIN_AMERICA_AND_THE_CARIBBEAN, Continent.NORTH_AMERICA, "XCD"),
 
     /** <a href="http://en.wikipedia.org/wiki/Georgia_(country)">Georgia</a> */
-    GE("Georgia", "GEO", 268,995),
+    GE("Georgia", "GEO", 268,995, Region.WESTERN_ASIA, Continent.ASIA, "GEL"),
 
     /** <a href="http://en.wikipedia.org/wiki/French_Guiana">French Guiana</a> */
-    GF("French Guiana", "GUF", 254,0),
+    GF("French Guiana", "GUF", 254,0, Region.LATIN_AMERICA_AND_THE_CARIBBEAN, Continent.SOUTH_AMERICA, "EUR"),
 
     /** <a href="http://en.wikipedia.org/wiki/Guernsey">Guemsey</a> */
-    GG("Guemsey", "GGY", 831,0),
+    GG("Guemsey", "GGY", 831,0, Region.NORTHERN_EUROPE, Continent.EUROPE, "GBP"),
 
     /** <a href="http://en.wikipedia.org/wiki/Ghana">Ghana</a> */
-    GH("Ghana", "GHA", 288,233),
+    GH("Ghana", "GHA", 288,233, Region.SUB_SAHARAN_AFRICA, Continent.AFRICA, "GHS"),
 
     /** <a href="http://en.wikipedia.org/wiki/Gibraltar">Gibraltar</a> */
-    GI("Gibraltar", "GIB", 292,350),
+    GI("Gibraltar", "GIB", 292,350, Region.SOUTHERN_EUROPE, Continent.EUROPE, "GIP"),
 
     /** <a href="http://en.wikipedia.org/wiki/Greenland">Greenland</a> */
-    GL("Greenland", "GRL", 304,299),
+    GL("Greenland", "GRL", 304,299, Region.NORTHERN_AMERICA, Continent.NORTH_AMERICA, "DKK"),
 
     /** <a href="http://en.wikipedia.org/wiki/The_Gambia">Gambia</a> */
-    GM("Gambia", "GMB", 270,220),
+    GM("Gambia", "GMB", 270,220, Region.SUB_SAHARAN_AFRICA, Continent.AFRICA, "GMD"),
 
     /** <a href="http://en.wikipedia.org/wiki/Guinea">Guinea</a> */
-    GN("Guinea", "GIN", 324,224),
+    GN("Guinea", "GIN", 324,224, Region.SUB_SAHARAN_AFRICA, Continent.AFRICA, "GNF"),
 
     /** <a href="http://en.wikipedia.org/wiki/Guadeloupe">Guadeloupe</a> */
-    GP("Guadeloupe", "GLP", 312,0),
+    GP("Guadeloupe", "GLP", 312,0, Region.LATIN_AMERICA_AND_THE_CARIBBEAN, Continent.NORTH_AMERICA, "EUR"),
 
     /** <a href="http://en.wikipedia.org/wiki/Equatorial_Guinea">Equatorial Guinea</a> */
-    GQ("Equatorial Guinea", "GNQ", 226,240),
+    GQ("Equatorial Guinea", "GNQ", 226,240, Region.SUB_SAHARAN_AFRICA, Continent.AFRICA, "XAF"),
 
     /** <a href="http://en.wikipedia.org/wiki/Greece">Greece</a> */
-    GR("Greece", "GRC", 300,30),
+    GR("Greece", "GRC", 300,30, Region.SOUTHERN_EUROPE, Continent.EUROPE, "EUR"),
 
     /** <a href="http://en.wikipedia.org/wiki/South_Georgia_and_the_South_Sandwich_Islands">South Georgia and the South Sandwich Islands</a> */
-    GS("South Georgia and the South Sandwich Islands", "SGS", 239,0),
+    GS("South Georgia and the South Sandwich Islands", "SGS", 239,0, Region.LATIN_AMERICA_AND_THE_CARIBBEAN, Continent.ANTARCTICA, "GBP"),
 
     /** <a href="http://en.wikipedia.org/wiki/Guatemala">Guatemala</a> */
-    GT("Guatemala", "GTM", 320,502),
+    GT("Guatemala", "GTM", 320,502, Region.LATIN_AMERICA_AND_THE_CARIBBEAN, Continent.NORTH_AMERICA, "GTQ"),
 
     /** <a href="http://en.wikipedia.org/wiki/Guam">Guam</a> */
-    GU("Guam", "GUM", 316,1671),
+    GU("Guam", "GUM", 316,1671, Region.MICRONESIA, Continent.OCEANIA, "USD"),
 
     /** <a href="http://en.wikipedia.org/wiki/Guinea-Bissau">Guinea-Bissau</a> */
-    GW("Guinea-Bissau", "GNB", 624,245),
+    GW("Guinea-Bissau", "GNB", 624,245, Region.SUB_SAHARAN_AFRICA, Continent.AFRICA, "XOF"),
 
     /** <a href="http://en.wikipedia.org/wiki/Guyana">Guyana</a> */
-    GY("Guyana", "GUY", 328,592),
+    GY("Guyana", "GUY", 328,592, Region.LATIN_AMERICA_AND_THE_CARIBBEAN, Continent.SOUTH_AMERICA, "GYD"),
 
     /** <a href="http://en.wikipedia.org/wiki/Hong_Kong">Hong Kong</a> */
-    HK("Hong Kong", "HKG", 344,852),
+    HK("Hong Kong", "HKG", 344,852, Region.EASTERN_ASIA, Continent.ASIA, "HKD"),
 
     /** <a href="http://en.wikipedia.org/wiki/Heard_Island_and_McDonald_Islands">Heard Island and McDonald Islands</a> */
-    HM("Heard Island and McDonald Islands", "HMD", 334,0),
+    HM("Heard Island and McDonald Islands", "HMD", 334,0, Region.AUSTRALIA_AND_NEW_ZEALAND, Continent.ANTARCTICA, "AUD"),
 
     /** <a href="http://en.wikipedia.org/wiki/Honduras">Honduras</a> */
-    HN("Honduras", "HND", 340,504),
+    HN("Honduras", "HND", 340,504, Region.LATIN_AMERICA_AND_THE_CARIBBEAN, Continent.NORTH_AMERICA, "HNL"),
 
     /** <a href="http://en.wikipedia.org/wiki/Croatia">Croatia</a> */
-    HR("Croatia", "HRV", 191,385),
+    HR("Croatia", "HRV", 191,385, Region.SOUTHERN_EUROPE, Continent.EUROPE, "EUR"),
 
     /** <a href="http://en.wikipedia.org/wiki/Haiti">Haiti</a> */
-    HT("Haiti", "HTI", 332,509),
+    HT("Haiti", "HTI", 332,509, Region.LATIN_AMERICA_AND_THE_CARIBBEAN, Continent.NORTH_AMERICA, "HTG"),
 
     /** <a href="http://en.wikipedia.org/wiki/Hungary">Hungary</a> */
-    HU("Hungary", "HUN", 348,36),
+    HU("Hungary", "HUN", 348,36, Region.EASTERN_EUROPE, Continent.EUROPE, "HUF"),
 
     /** <a href="http://en.wikipedia.org/wiki/Indonesia">Indonesia</a> */
-    ID("Indonesia", "IDN", 360,62),
+    ID("Indonesia", "IDN", 360,62, Region.SOUTH_EASTERN_ASIA, Continent.ASIA, "IDR"),
 
     /** <a href="http://en.wikipedia.org/wiki/Republic_of_Ireland">Ireland</a> */
-    IE("Ireland", "IRL", 372,353),
+    IE("Ireland", "IRL", 372,353, Region.NORTHERN_EUROPE, Continent.EUROPE, "EUR"),
 
     /** <a href="http://en.wikipedia.org/wiki/Israel">Israel</a> */
-    IL("Israel", "ISR", 376,972),
+    IL("Israel", "ISR", 376,972, Region.WESTERN_ASIA, Continent.ASIA, "ILS"),
 
     /** <a href="http://en.wikipedia.org/wiki/Isle_of_Man">Isle of Man</a> */
-    IM("Isle of Man", "IMN", 833,44),
+    IM("Isle of Man", "IMN", 833,44, Region.NORTHERN_EUROPE, Continent.EUROPE, "GBP"),
 
     /** <a href="http://en.wikipedia.org/wiki/India">India</a> */
-    IN("India", "IND", 356,91),
+    IN("India", "IND", 356,91, Region.SOUTHERN_ASIA, Continent.ASIA, "INR"),
 
     /** <a href="http://en.wikipedia.org/wiki/British_Indian_Ocean_Territory">British Indian Ocean Territory</a> */
-    IO("British Indian Ocean Territory", "IOT", 86,0),
+    IO("British Indian Ocean Territory", "IOT", 86,0, Region.SUB_SAHARAN_AFRICA, Continent.ASIA, "USD"),
 
     /** <a href="http://en.wikipedia.org/wiki/Iraq">Iraq</a> */
-    IQ("Iraq", "IRQ", 368,964),
+    IQ("Iraq", "IRQ", 368,964, Region.WESTERN_ASIA, Continent.ASIA, "IQD"),
 
     /** <a href="http://en.wikipedia.org/wiki/Iran">Islamic Republic of Iran</a> */
-    IR("Islamic Republic of Iran", "IRN", 364,98),
+    IR("Islamic Republic of Iran", "IRN", 364,98, Region.SOUTHERN_ASIA, Continent.ASIA, "IRR"),
 
     /** <a href="http://en.wikipedia.org/wiki/Iceland">Iceland</a> */
-    IS("Iceland", "ISL", 352,354),
+    IS("Iceland", "ISL", 352,354, Region.NORTHERN_EUROPE, Continent.EUROPE, "ISK"),
 
     /** <a href="http://en.wikipedia.org/wiki/Italy">Italy</a> */
-    IT("Italy", "ITA", 380,39),
+    IT("Italy", "ITA", 380,39, Region.SOUTHERN_EUROPE, Continent.EUROPE, "EUR"),
 
     /** <a href="http://en.wikipedia.org/wiki/Jersey">Jersey</a> */
-    JE("Jersey", "JEY", 832,0),
+    JE("Jersey", "JEY", 832,0, Region.NORTHERN_EUROPE, Continent.EUROPE, "GBP"),
 
     /** <a href="http://en.wikipedia.org/wiki/Jamaica">Jamaica</a> */
-    JM("Jamaica", "JAM", 388,1876),
+    JM("Jamaica", "JAM", 388,1876, Region.LATIN_AMERICA_AND_THE_CARIBBEAN, Continent.NORTH_AMERICA, "JMD"),
 
     /** <a href="http://en.wikipedia.org/wiki/Jordan">Jordan</a> */
-    JO("Jordan", "JOR", 400,962),
+    JO("Jordan", "JOR", 400,962, Region.WESTERN_ASIA, Continent.ASIA, "JOD"),
 
     /** <a href="http://en.wikipedia.org/wiki/Japan">Japan</a> */
-    JP("Japan", "JPN", 392,81),
+    JP("Japan", "JPN", 392,81, Region.EASTERN_ASIA, Continent.ASIA, "JPY"),
 
     /** <a href="http://en.wikipedia.org/wiki/Kenya">Kenya</a> */
-    KE("Kenya", "KEN", 404,254),
+    KE("Kenya", "KEN", 404,254, Region.SUB_SAHARAN_AFRICA, Continent.AFRICA, "KES"),
 
     /** <a href="http://en.wikipedia.org/wiki/Kyrgyzstan">Kyrgyzstan</a> */
-    KG("Kyrgyzstan", "KGZ", 417,996),
+    KG("Kyrgyzstan", "KGZ", 417,996, Region.CENTRAL_ASIA, Continent.ASIA, "KGS"),
 
     /** <a href="http://en.wikipedia.org/wiki/Cambodia">Cambodia</a> */
-    KH("Cambodia", "KHM", 116,855),
+    KH("Cambodia", "KHM", 116,855, Region.SOUTH_EASTERN_ASIA, Continent.ASIA, "KHR"),
 
     /** <a href="http://en.wikipedia.org/wiki/Kiribati">Kiribati</a> */
-    KI("Kiribati", "KIR", 296,686),
+    KI("Kiribati", "KIR", 296,686, Region.MICRONESIA, Continent.OCEANIA, "AUD"),
 
     /** <a href="http://en.wikipedia.org/wiki/Comoros">Comoros</a> */
-    KM("Comoros", "COM", 174,269),
+    KM("Comoros", "COM", 174,269, Region.SUB_SAHARAN_AFRICA, Continent.AFRICA, "KMF"),
 
     /** <a href="http://en.wikipedia.org/wiki/Saint_Kitts_and_Nevis">Saint Kitts and Nevis</a> */
-    KN("Saint Kitts and Nevis", "KNA", 659,1869),
+    KN("Saint Kitts and Nevis", "KNA", 659,1869, Region.LATIN_AMERICA_AND_THE_CARIBBEAN, Continent.NORTH_AMERICA, "XCD"),
 
     /** <a href="http://en.wikipedia.org/wiki/North_Korea">Democratic People's Republic of Korea</a> */
-    KP("Democratic People's Republic of Korea", "PRK", 408,850),
+    KP("Democratic People's Republic of Korea", "PRK", 408,850, Region.EASTERN_ASIA, Continent.ASIA, "KPW"),
 
     /** <a href="http://en.wikipedia.org/wiki/South_Korea">Republic of Korea</a> */
-    KR("Republic of Korea", "KOR", 410,82),
+    KR("Republic of Korea", "KOR", 410,82, Region.EASTERN_ASIA, Continent.ASIA, "KRW"),
 
     /** <a href="http://en.wikipedia.org/wiki/Kuwait">Kuwait</a> */
-    KW("Kuwait", "KWT", 414,965),
+    KW("Kuwait", "KWT", 414,965, Region.WESTERN_ASIA, Continent.ASIA, "KWD"),
 
     /** <a href="http://en.wikipedia.org/wiki/Cayman_Islands">Cayman Islands</a> */
-    KY("Cayman Islands", "CYM", 136,1345),
+    KY("Cayman Islands", "CYM", 136,1345, Region.LATIN_AMERICA_AND_THE_CARIBBEAN, Continent.NORTH_AMERICA, "KYD"),
 
     /** <a href="http://en.wikipedia.org/wiki/Kazakhstan">Kazakhstan</a> */
-    KZ("Kazakhstan", "KAZ", 398,7),
+    KZ("Kazakhstan", "KAZ", 398,7, Region.CENTRAL_ASIA, Continent.ASIA, "KZT"),
 
     /** <a href="http://en.wikipedia.org/wiki/Laos">Lao People's Democratic Republic</a> */
-    LA("Lao People's Democratic Republic", "LAO", 418,856),
+    LA("Lao People's Democratic Republic", "LAO", 418,856, Region.SOUTH_EASTERN_ASIA, Continent.ASIA, "LAK"),
 
     /** <a href="http://en.wikipedia.org/wiki/Lebanon">Lebanon</a> */
-    LB("Lebanon", "LBN", 422,961),
+    LB("Lebanon", "LBN", 422,961, Region.WESTERN_ASIA, Continent.ASIA, "LBP"),
 
     /** <a href="http://en.wikipedia.org/wiki/Saint_Lucia">Saint Lucia</a> */
-    LC("Saint Lucia", "LCA", 662,1758),
+    LC("Saint Lucia", "LCA", 662,1758, Region.LATIN_AMERICA_AND_THE_CARIBBEAN, Continent.NORTH_AMERICA, "XCD"),
 
     /** <a href="http://en.wikipedia.org/wiki/Liechtenstein">Liechtenstein</a> */
-    LI("Liechtenstein", "LIE", 438,423),
+    LI("Liechtenstein", "LIE", 438,423, Region.WESTERN_EUROPE, Continent.EUROPE, "CHF"),
 
     /** <a href="http://en.wikipedia.org/wiki/Sri_Lanka">Sri Lanka</a> */
-    LK("Sri Lanka", "LKA", 144,94),
+    LK("Sri Lanka", "LKA", 144,94, Region.SOUTHERN_ASIA, Continent.ASIA, "LKR"),
 
     /** <a href="http://en.wikipedia.org/wiki/Liberia">Liberia</a> */
-    LR("Liberia", "LBR", 430,231),
+    LR("Liberia", "LBR", 430,231, Region.SUB_SAHARAN_AFRICA, Continent.AFRICA, "LRD"),
 
     /** <a href="http://en.wikipedia.org/wiki/Lesotho">Lesotho</a> */
-    LS("Lesotho", "LSO", 426,266),
+    LS("Lesotho", "LSO", 426,266, Region.SUB_SAHARAN_AFRICA, Continent.AFRICA, "LSL"),
 
     /** <a href="http://en.wikipedia.org/wiki/Lithuania">Lithuania</a> */
-    LT("Lithuania", "LTU", 440,370),
+    LT("Lithuania", "LTU", 440,370, Region.NORTHERN_EUROPE, Continent.EUROPE, "EUR"),
 
     /** <a href="http://en.wikipedia.org/wiki/Luxembourg">Luxembourg</a> */
-    LU("Luxembourg", "LUX", 442,352),
+    LU("Luxembourg", "LUX", 442,352, Region.WESTERN_EUROPE, Continent.EUROPE, "EUR"),
 
     /** <a href="http://en.wikipedia.org/wiki/Latvia">Latvia</a> */
-    LV("Latvia", "LVA", 428,371),
+    LV("Latvia", "LVA", 428,371, Region.NORTHERN_EUROPE, Continent.EUROPE, "EUR"),
 
     /** <a href="http://en.wikipedia.org/wiki/Libya">Libya</a> */
-    LY("Libya", "LBY", 434,218),
+    LY("Libya", "LBY", 434,218, Region.NORTHERN_AFRICA, Continent.AFRICA, "LYD"),
 
     /** <a href="http://en.wikipedia.org/wiki/Morocco">Morocco</a> */
-    MA("Morocco", "MAR", 504,212),
+    MA("Morocco", "MAR", 504,212, Region.NORTHERN_AFRICA, Continent.AFRICA, "MAD"),
 
     /** <a href="http://en.wikipedia.org/wiki/Monaco">Monaco</a> */
-    MC("Monaco", "MCO", 492,377),
+    MC("Monaco", "MCO", 492,377, Region.WESTERN_EUROPE, Continent.EUROPE, "EUR"),
 
     /** <a href="http://en.wikipedia.org/wiki/Moldova">Republic of Moldova</a> */
-    MD("Republic of Moldova", "MDA", 498,373),
+    MD("Republic of Moldova", "MDA", 498,373, Region.EASTERN_EUROPE, Continent.EUROPE, "MDL"),
 
     /** <a href="http://en.wikipedia.org/wiki/Montenegro">Montenegro</a> */
-    ME("Montenegro", "MNE", 499,382),
+    ME("Montenegro", "MNE", 499,382, Region.SOUTHERN_EUROPE, Continent.EUROPE, "EUR"),
 
     /** <a href="http://en.wikipedia.org/wiki/Collectivity_of_Saint_Martin">Saint Martin (French part)</a> */
-    MF("Saint Martin", "MAF", 663,1599),
+    MF("Saint Martin", "MAF", 663,1599, Region.LATIN_AMERICA_AND_THE_CARIBBEAN, Continent.NORTH_AMERICA, "EUR"),
 
     /** <a href="http://en.wikipedia.org/wiki/Madagascar">Madagascar</a> */
-    MG("Madagascar", "MDG",450,261),
+    MG("Madagascar", "MDG",450,261, Region.SUB_SAHARAN_AFRICA, Continent.AFRICA, "MGA"),
 
     /** <a href="http://en.wikipedia.org/wiki/Marshall_Islands">Marshall Islands</a> */
-    MH("Marshall Islands", "MHL", 584,692),
+    MH("Marshall Islands", "MHL", 584,692, Region.MICRONESIA, Continent.OCEANIA, "USD"),
 
     /** <a href="http://en.wikipedia.org/wiki/Republic_of_Macedonia">The former Yugoslav Republic of Macedonia</a> */
-    MK("The former Yugoslav Republic of Macedonia", "MKD", 807,389),
+    MK("The former Yugoslav Republic of Macedonia", "MKD", 807,389, Region.SOUTHERN_EUROPE, Continent.EUROPE, "MKD"),
 
     /** <a href="http://en.wikipedia.org/wiki/Mali">Mali</a> */
-    ML("Mali", "MLI", 466,223),
+    ML("Mali", "MLI", 466,223, Region.SUB_SAHARAN_AFRICA, Continent.AFRICA, "XOF"),
 
     /** <a href="http://en.wikipedia.org/wiki/Myanmar">Myanmar</a> */
-    MM("Myanmar", "MMR", 104,95),
+    MM("Myanmar", "MMR", 104,95, Region.SOUTH_EASTERN_ASIA, Continent.ASIA, "MMK"),
 
     /** <a href="http://en.wikipedia.org/wiki/Mongolia">Mongolia</a> */
-    MN("Mongolia", "MNG", 496,976),
+    MN("Mongolia", "MNG", 496,976, Region.EASTERN_ASIA, Continent.ASIA, "MNT"),
 
     /** <a href="http://en.wikipedia.org/wiki/Macau">Macao</a> */
-    MO("Macao", "MCO", 492,853),
+    MO("Macao", "MCO", 492,853, Region.EASTERN_ASIA, Continent.ASIA, "MOP"),
 
     /** <a href="http://en.wikipedia.org/wiki/Northern_Mariana_Islands">Northern Mariana Islands</a> */
-    MP("Northern Mariana Islands", "MNP",580,1670),
+    MP("Northern Mariana Islands", "MNP",580,1670, Region.MICRONESIA, Continent.OCEANIA, "USD"),
 
     /** <a href="http://en.wikipedia.org/wiki/Martinique">Martinique</a> */
-    MQ("Martinique", "MTQ", 474,0),
+    MQ("Martinique", "MTQ", 474,0, Region.LATIN_AMERICA_AND_THE_CARIBBEAN, Continent.NORTH_AMERICA, "EUR"),
 
     /** <a href="http://en.wikipedia.org/wiki/Mauritania">Mauritania</a> */
-    MR("Mauritania", "MRT", 478,222),
+    MR("Mauritania", "MRT", 478,222, Region.SUB_SAHARAN_AFRICA, Continent.AFRICA, "MRU"),
 
     /** <a href="http://en.wikipedia.org/wiki/Montserrat">Montserrat</a> */
-    MS("Montserrat", "MSR", 500,1664),
+    MS("Montserrat", "MSR", 500,1664, Region.LATIN_AMERICA_AND_THE_CARIBBEAN, Continent.NORTH_AMERICA, "XCD"),
 
     /** <a href="http://en.wikipedia.org/wiki/Malta">Malta</a> */
-    MT("Malta", "MLT", 470,356),
+    MT("Malta", "MLT", 470,356, Region.SOUTHERN_EUROPE, Continent.EUROPE, "EUR"),
 
     /** <a href="http://en.wikipedia.org/wiki/Mauritius">Mauritius</a> */
-    MU("Mauritius", "MUS", 480,230),
+    MU("Mauritius", "MUS", 480,230, Region.SUB_SAHARAN_AFRICA, Continent.AFRICA, "MUR"),
 
     /** <a href="http://en.wikipedia.org/wiki/Maldives">Maldives</a> */
-    MV("Maldives", "MDV", 462,960),
+    MV("Maldives", "MDV", 462,960, Region.SOUTHERN_ASIA, Continent.ASIA, "MVR"),
 
     /** <a href="http://en.wikipedia.org/wiki/Malawi">Malawi</a> */
-    MW("Malawi", "MWI", 454,265),
+    MW("Malawi", "MWI", 454,265, Region.SUB_SAHARAN_AFRICA, Continent.AFRICA, "MWK"),
 
     /** <a href="http://en.wikipedia.org/wiki/Mexico">Mexico</a> */
-    MX("Mexico", "MEX", 484,52),
+    MX("Mexico", "MEX", 484,52, Region.LATIN_AMERICA_AND_THE_CARIBBEAN, Continent.NORTH_AMERICA, "MXN"),
 
     /** <a href="http://en.wikipedia.org/wiki/Malaysia">Malaysia</a> */
-    MY("Malaysia", "MYS", 458,60),
+    MY("Malaysia", "MYS", 458,60, Region.SOUTH_EASTERN_ASIA, Continent.ASIA, "MYR"),
 
     /** <a href="http://en.wikipedia.org/wiki/Mozambique">Mozambique</a> */
-    MZ("Mozambique", "MOZ", 508,258),
+    MZ("Mozambique", "MOZ", 508,258, Region.SUB_SAHARAN_AFRICA, Continent.AFRICA, "MZN"),
 
     /** <a href="http://en.wikipedia.org/wiki/Namibia">Namibia</a> */
-    NA("Namibia", "NAM", 516,264),
+    NA("Namibia", "NAM", 516,264, Region.SUB_SAHARAN_AFRICA, Continent.AFRICA, "NAD"),
 
     /** <a href="http://en.wikipedia.org/wiki/New_Caledonia">New Caledonia</a> */
-    NC("New Caledonia", "NCL", 540,687),
+    NC("New Caledonia", "NCL", 540,687, Region.MELANESIA, Continent.OCEANIA, "XPF"),
 
     /** <a href="http://en.wikipedia.org/wiki/Niger">Niger</a> */
-    NE("Niger", "NER", 562,227),
+    NE("Niger", "NER", 562,227, Region.SUB_SAHARAN_AFRICA, Continent.AFRICA, "XOF"),
 
     /** <a href="http://en.wikipedia.org/wiki/Norfolk_Island">Norfolk Island</a> */
-    NF("Norfolk Island", "NFK", 574,0),
+    NF("Norfolk Island", "NFK", 574,0, Region.AUSTRALIA_AND_NEW_ZEALAND, Continent.OCEANIA, "AUD"),
 
     /** <a href="http://en.wikipedia.org/wiki/Nigeria">Nigeria</a> */
-    NG("Nigeria","NGA", 566,234),
+    NG("Nigeria","NGA", 566,234, Region.SUB_SAHARAN_AFRICA, Continent.AFRICA, "NGN"),
 
     /** <a href="http://en.wikipedia.org/wiki/Nicaragua">Nicaragua</a> */
-    NI("Nicaragua", "NIC", 558,505),
+    NI("Nicaragua", "NIC", 558,505, Region.LATIN_AMERICA_AND_THE_CARIBBEAN, Continent.NORTH_AMERICA, "NIO"),
 
     /** <a href="http://en.wikipedia.org/wiki/Netherlands">Netherlands</a> */
-    NL("Netherlands", "NLD", 528,31),
+    NL("Netherlands", "NLD", 528,31, Region.WESTERN_EUROPE, Continent.EUROPE, "EUR"),
 
     /** <a href="http://en.wikipedia.org/wiki/Norway">Norway</a> */
-    NO("Norway", "NOR", 578,47),
+    NO("Norway", "NOR", 578,47, Region.NORTHERN_EUROPE, Continent.EUROPE, "NOK"),
 
     /** <a href="http://en.wikipedia.org/wiki/Nepal">Nepal</a> */
-    NP("Nepal", "NPL", 524,977),
+    NP("Nepal", "NPL", 524,977, Region.SOUTHERN_ASIA, Continent.ASIA, "NPR"),
 
     /** <a href="http://en.wikipedia.org/wiki/Nauru">Nauru</a> */
-    NR("Nauru", "NRU", 520,674),
+    NR("Nauru", "NRU", 520,674, Region.MICRONESIA, Continent.OCEANIA, "AUD"),
 
     /** <a href="http://en.wikipedia.org/wiki/Niue">Niue</a> */
-    NU("Niue", "NIU", 570,683),
+    NU("Niue", "NIU", 570,683, Region.POLYNESIA, Continent.OCEANIA, "NZD"),
 
     /** <a href="http://en.wikipedia.org/wiki/New_Zealand">New Zealand</a> */
-    NZ("New Zealand", "NZL", 554,64),
+    NZ("New Zealand", "NZL", 554,64, Region.AUSTRALIA_AND_NEW_ZEALAND, Continent.OCEANIA, "NZD"),
 
     /** <a href=http://en.wikipedia.org/wiki/Oman"">Oman</a> */
-    OM("Oman", "OMN", 512,968),
+    OM("Oman", "OMN", 512,968, Region.WESTERN_ASIA, Continent.ASIA, "OMR"),
 
     /** <a href="http://en.wikipedia.org/wiki/Panama">Panama</a> */
-    PA("Panama", "PAN", 591,507),
+    PA("Panama", "PAN", 591,507, Region.LATIN_AMERICA_AND_THE_CARIBBEAN, Continent.NORTH_AMERICA, "PAB"),
 
     /** <a href="http://en.wikipedia.org/wiki/Peru">Peru</a> */
-    PE("Peru", "PER", 604,51),
+    PE("Peru", "PER", 604,51, Region.LATIN_AMERICA_AND_THE_CARIBBEAN, Continent.SOUTH_AMERICA, "PEN"),
 
     /** <a href="http://en.wikipedia.org/wiki/French_Polynesia">French Polynesia</a> */
-    PF("French Polynesia", "PYF", 258,689),
+    PF("French Polynesia", "PYF", 258,689, Region.POLYNESIA, Continent.OCEANIA, "XPF"),
 
     /** <a href="http://en.wikipedia.org/wiki/Papua_New_Guinea">Papua New Guinea</a> */
-    PG("Papua New Guinea", "PNG", 598,675),
+    PG("Papua New Guinea", "PNG", 598,675, Region.MELANESIA, Continent.OCEANIA, "PGK"),
 
     /** <a href="http://en.wikipedia.org/wiki/Philippines">Philippines</a> */
-    PH("Philippines", "PHL", 608,63),
+    PH("Philippines", "PHL", 608,63, Region.SOUTH_EASTERN_ASIA, Continent.ASIA, "PHP"),
 
     /** <a href="http://en.wikipedia.org/wiki/Pakistan">Pakistan</a> */
-    PK("Pakistan", "PAK", 586,92),
+    PK("Pakistan", "PAK", 586,92, Region.SOUTHERN_ASIA, Continent.ASIA, "PKR"),
 
     /** <a href="http://en.wikipedia.org/wiki/Poland">Poland</a> */
-    PL("Poland", "POL", 616,48),
+    PL("Poland", "POL", 616,48, Region.EASTERN_EUROPE, Continent.EUROPE, "PLN"),
 
     /** <a href="http://en.wikipedia.org/wiki/Saint_Pierre_and_Miquelon">Saint Pierre and Miquelon</a> */
-    PM("Saint Pierre and Miquelon", "SPM", 666,508),
+    PM("Saint Pierre and Miquelon", "SPM", 666,508, Region.NORTHERN_AMERICA, Continent.NORTH_AMERICA, "EUR"),
 
     /** <a href="http://en.wikipedia.org/wiki/Pitcairn_Islands">Pitcairn</a> */
-    PN("Pitcairn", "PCN", 612,870),
+    PN("Pitcairn", "PCN", 612,870, Region.POLYNESIA, Continent.OCEANIA, "NZD"),
 
     /** <a href="http://en.wikipedia.org/wiki/Puerto_Rico">Puerto Rico</a> */
-    PR("Puerto Rico", "PRI", 630,1),
+    PR("Puerto Rico", "PRI", 630,1, Region.LATIN_AMERICA_AND_THE_CARIBBEAN, Continent.NORTH_AMERICA, "USD"),
 
     /** <a href="http://en.wikipedia.org/wiki/Palestinian_territories">Occupied Palestinian Territory</a> */
-    PS("Occupied Palestinian Territory", "PSE", 275,970),
+    PS("Occupied Palestinian Territory", "PSE", 275,970, Region.WESTERN_ASIA, Continent.ASIA, "ILS"),
 
     /** <a href="http://en.wikipedia.org/wiki/Portugal">Portugal</a> */
-    PT("Portugal", "PRT", 620,351),
+    PT("Portugal", "PRT", 620,351, Region.SOUTHERN_EUROPE, Continent.EUROPE, "EUR"),
 
     /** <a href="http://en.wikipedia.org/wiki/Palau">Palau</a> */
-    PW("Palau", "PLW", 585,680),
+    PW("Palau", "PLW", 585,680, Region.MICRONESIA, Continent.OCEANIA, "USD"),
 
     /** <a href="http://en.wikipedia.org/wiki/Paraguay">Paraguay</a> */
-    PY("Paraguay", "PRY", 600,595),
+    PY("Paraguay", "PRY", 600,595, Region.LATIN_AMERICA_AND_THE_CARIBBEAN, Continent.SOUTH_AMERICA, "PYG"),
 
     /** <a href="http://en.wikipedia.org/wiki/Qatar">Qatar</a> */
-    QA("Qatar", "QAT", 634,974),
+    QA("Qatar", "QAT", 634,974, Region.WESTERN_ASIA, Continent.ASIA, "QAR"),
 
     /** <a href="http://en.wikipedia.org/wiki/R%C3%A9union">R&eacute;union</a> */
-    RE("R\u00E9union", "REU", 638,0),
+    RE("R\u00E9union", "REU", 638,0, Region.SUB_SAHARAN_AFRICA, Continent.AFRICA, "EUR"),
 
     /** <a href="http://en.wikipedia.org/wiki/Romania">Romania</a> */
-    RO("Romania", "ROU", 642,40),
+    RO("Romania", "ROU", 642,40, Region.EASTERN_EUROPE, Continent.EUROPE, "RON"),
 
     /** <a href="http://en.wikipedia.org/wiki/Serbia">Serbia</a> */
-    RS("Serbia", "SRB", 688,381),
+    RS("Serbia", "SRB", 688,381, Region.SOUTHERN_EUROPE, Continent.EUROPE, "RSD"),
 
     /** <a href="http://en.wikipedia.org/wiki/Russia">Russian Federation</a> */
-    RU("Russian Federation", "RUS", 643,7),
+    RU("Russian Federation", "RUS", 643,7, Region.EASTERN_EUROPE, Continent.EUROPE, "RUB"),
 
     /** <a href="http://en.wikipedia.org/wiki/Rwanda">Rwanda</a> */
-    RW("Rwanda", "RWA", 646,250),
+    RW("Rwanda", "RWA", 646,250, Region.SUB_SAHARAN_AFRICA, Continent.AFRICA, "RWF"),
 
     /** <a href="http://en.wikipedia.org/wiki/Saudi_Arabia">Saudi Arabia</a> */
-    SA("Saudi Arabia", "SAU", 682,966),
+    SA("Saudi Arabia", "SAU", 682,966, Region.WESTERN_ASIA, Continent.ASIA, "SAR"),
 
     /** <a href="http://en.wikipedia.org/wiki/Solomon_Islands">Solomon Islands</a> */
-    SB("Solomon Islands", "SLB", 90,677),
+    SB("Solomon Islands", "SLB", 90,677, Region.MELANESIA, Continent.OCEANIA, "SBD"),
 
     /** <a href="http://en.wikipedia.org/wiki/Seychelles">Seychelles</a> */
-    SC("Seychelles", "SYC", 690,248),
+    SC("Seychelles", "SYC", 690,248, Region.SUB_SAHARAN_AFRICA, Continent.AFRICA, "SCR"),
 
     /** <a href="http://en.wikipedia.org/wiki/Sudan">Sudan</a> */
-    SD("Sudan", "SDN", 729,249),
+    SD("Sudan", "SDN", 729,249, Region.NORTHERN_AFRICA, Continent.AFRICA, "SDG"),
 
     /** <a href="http://en.wikipedia.org/wiki/Sweden">Sweden</a> */
-    SE("Sweden", "SWE", 752,46),
+    SE("Sweden", "SWE", 752,46, Region.NORTHERN_EUROPE, Continent.EUROPE, "SEK"),
 
     /** <a href="http://en.wikipedia.org/wiki/Singapore">Singapore</a> */
-    SG("Singapore", "SGP", 702,65),
+    SG("Singapore", "SGP", 702,65, Region.SOUTH_EASTERN_ASIA, Continent.ASIA, "SGD"),
 
     /** <a href="http://en.wikipedia.org/wiki/Saint_Helena,_Ascension_and_Tristan_da_Cunha">Saint Helena, Ascension and Tristan da Cunha</a> */
-    SH("Saint Helena, Ascension and Tristan da Cunha", "SHN", 654,290),
+    SH("Saint Helena, Ascension and Tristan da Cunha", "SHN", 654,290, Region.SUB_SAHARAN_AFRICA, Continent.AFRICA, "SHP"),
 
     /** <a href="http://en.wikipedia.org/wiki/Slovenia">Slovenia</a> */
-    SI("Slovenia", "SVN", 705,386),
+    SI("Slovenia", "SVN", 705,386, Region.SOUTHERN_EUROPE, Continent.EUROPE, "EUR"),
 
     /** <a href="http://en.wikipedia.org/wiki/Svalbard_and_Jan_Mayen">Svalbard and Jan Mayen</a> */
-    SJ("Svalbard and Jan Mayen", "SJM", 744,0),
+    SJ("Svalbard and Jan Mayen", "SJM", 744,0, Region.NORTHERN_EUROPE, Continent.EUROPE, "NOK"),
 
     /** <a href="http://en.wikipedia.org/wiki/Slovakia">Slovakia</a> */
-    SK("Slovakia", "SVK", 703,421),
+    SK("Slovakia", "SVK", 703,421, Region.EASTERN_EUROPE, Continent.EUROPE, "EUR"),
 
     /** <a href="http://en.wikipedia.org/wiki/Sierra_Leone">Sierra Leone</a> */
-    SL("Sierra Leone", "SLE", 694,232),
+    SL("Sierra Leone", "SLE", 694,232, Region.SUB_SAHARAN_AFRICA, Continent.AFRICA, "SLE"),
 
     /** <a href="http://en.wikipedia.org/wiki/San_Marino">San Marino</a> */
-    SM("San Marino", "SMR", 674,378),
+    SM("San Marino", "SMR", 674,378, Region.SOUTHERN_EUROPE, Continent.EUROPE, "EUR"),
 
     /** <a href="http://en.wikipedia.org/wiki/Senegal">Senegal</a> */
-    SN("Senegal", "SEN", 686,221),
+    SN("Senegal", "SEN", 686,221, Region.SUB_SAHARAN_AFRICA, Continent.AFRICA, "XOF"),
 
     /** <a href="http://en.wikipedia.org/wiki/Somalia">Somalia</a> */
-    SO("Somalia", "SOM", 706,252),
+    SO("Somalia", "SOM", 706,252, Region.SUB_SAHARAN_AFRICA, Continent.AFRICA, "SOS"),
 
     /** <a href="http://en.wikipedia.org/wiki/Suriname">Suriname</a> */
-    SR("Suriname", "SUR", 740,597),
+    SR("Suriname", "SUR", 740,597, Region.LATIN_AMERICA_AND_THE_CARIBBEAN, Continent.SOUTH_AMERICA, "SRD"),
 
     /** <a href="http://en.wikipedia.org/wiki/South_Sudan">South Sudan</a> */
-    SS("South Sudan", "SSD", 728,0),
+    SS("South Sudan", "SSD", 728,0, Region.SUB_SAHARAN_AFRICA, Continent.AFRICA, "SSP"),
 
     /** <a href="http://en.wikipedia.org/wiki/S%C3%A3o_Tom%C3%A9_and_Pr%C3%ADncipe">Sao Tome and Principe</a> */
-    ST("Sao Tome and Principe", "STP", 678,239),
+    ST("Sao Tome and Principe", "STP", 678,239, Region.SUB_SAHARAN_AFRICA, Continent.AFRICA, "STN"),
 
     /** <a href="http://en.wikipedia.org/wiki/El_Salvador">El Salvador</a> */
-    SV("El Salvador", "SLV", 222,503),
+    SV("El Salvador", "SLV", 222,503, Region.LATIN_AMERICA_AND_THE_CARIBBEAN, Continent.NORTH_AMERICA, "USD"),
 
     /** <a href="http://en.wikipedia.org/wiki/Sint_Maarten">Sint Maarten (Dutch part)</a> */
-    SX("Sint Maarten", "SXM", 534,0),
+    SX("Sint Maarten", "SXM", 534,0, Region.LATIN_AMERICA_AND_THE_CARIBBEAN, Continent.NORTH_AMERICA, "XCG"),
 
     /** <a href="http://en.wikipedia.org/wiki/Syria">Syrian Arab Republic</a> */
-    SY("Syrian Arab Republic", "SYR", 760,963),
+    SY("Syrian Arab Republic", "SYR", 760,963, Region.WESTERN_ASIA, Continent.ASIA, "SYP"),
 
     /** <a href="http://en.wikipedia.org/wiki/Swaziland">Swaziland</a> */
-    SZ("Swaziland", "SWZ", 748,268),
+    SZ("Swaziland", "SWZ", 748,268, Region.SUB_SAHARAN_AFRICA, Continent.AFRICA, "SZL"),
 
     /** <a href="http://en.wikipedia.org/wiki/Turks_and_Caicos_Islands">Turks and Caicos Islands</a> */
-    TC("Turks and Caicos Islands", "TCA", 796,1649),
+    TC("Turks and Caicos Islands", "TCA", 796,1649, Region.LATIN_AMERICA_AND_THE_CARIBBEAN, Continent.NORTH_AMERICA, "USD"),
 
     /** <a href="http://en.wikipedia.org/wiki/Chad">Chad</a> */
-    TD("Chad", "TCD", 148,235),
+    TD("Chad", "TCD", 148,235, Region.SUB_SAHARAN_AFRICA, Continent.AFRICA, "XAF"),
 
     /** <a href="http://en.wikipedia.org/wiki/French_Southern_and_Antarctic_Lands">French Southern Territories</a> */
-    TF("French Southern Territories", "ATF", 260,0),
+    TF("French Southern Territories", "ATF", 260,0, Region.SUB_SAHARAN_AFRICA, Continent.ANTARCTICA, "EUR"),
 
     /** <a href="http://en.wikipedia.org/wiki/Togo">Togo</a> */
-    TG("Togo", "TGO", 768,228),
+    TG("Togo", "TGO", 768,228, Region.SUB_SAHARAN_AFRICA, Continent.AFRICA, "XOF"),
 
     /** <a href="http://en.wikipedia.org/wiki/Thailand">Thailand</a> */
-    TH("Thailand", "THA", 764,66),
+    TH("Thailand", "THA", 764,66, Region.SOUTH_EASTERN_ASIA, Continent.ASIA, "THB"),
 
     /** <a href="http://en.wikipedia.org/wiki/Tajikistan">Tajikistan</a> */
-    TJ("Tajikistan", "TJK", 762,992),
+    TJ("Tajikistan", "TJK", 762,992, Region.CENTRAL_ASIA, Continent.ASIA, "TJS"),
 
     /** <a href="http://en.wikipedia.org/wiki/Tokelau">Tokelau</a> */
-    TK("Tokelau", "TKL", 772,690),
+    TK("Tokelau", "TKL", 772,690, Region.POLYNESIA, Continent.OCEANIA, "NZD"),
 
     /** <a href="http://en.wikipedia.org/wiki/East_Timor">Timor-Leste</a> */
-    TL("Timor-Leste", "TLS", 626,670),
+    TL("Timor-Leste", "TLS", 626,670, Region.SOUTH_EASTERN_ASIA, Continent.ASIA, "USD"),
 
     /** <a href="http://en.wikipedia.org/wiki/Turkmenistan">Turkmenistan</a> */
-    TM("Turkmenistan", "TKM", 795,993),
+    TM("Turkmenistan", "TKM", 795,993, Region.CENTRAL_ASIA, Continent.ASIA, "TMT"),
 
     /** <a href="http://en.wikipedia.org/wiki/Tunisia">Tunisia</a> */
-    TN("Tunisia", "TUN", 788,216),
+    TN("Tunisia", "TUN", 788,216, Region.NORTHERN_AFRICA, Continent.AFRICA, "TND"),
 
     /** <a href="http://en.wikipedia.org/wiki/Tonga">Tonga</a> */
-    TO("Tonga", "TON", 776,676),
+    TO("Tonga", "TON", 776,676, Region.POLYNESIA, Continent.OCEANIA, "TOP"),
 
     /** <a href="http://en.wikipedia.org/wiki/Turkey">Turkey</a> */
-    TR("Turkey", "TUR", 792,90),
+    TR("Turkey", "TUR", 792,90, Region.WESTERN_ASIA, Continent.ASIA, "TRY"),
 
     /** <a href="http://en.wikipedia.org/wiki/Trinidad_and_Tobago">Trinidad and Tobago</a> */
-    TT("Trinidad and Tobago", "TTO", 780,1868),
+    TT("Trinidad and Tobago", "TTO", 780,1868, Region.LATIN_AMERICA_AND_THE_CARIBBEAN, Continent.NORTH_AMERICA, "TTD"),
 
     /** <a href="http://en.wikipedia.org/wiki/Tuvalu">Tuvalu</a> */
-    TV("Tuvalu", "TUV", 798,688),
+    TV("Tuvalu", "TUV", 798,688, Region.POLYNESIA, Continent.OCEANIA, "AUD"),
 
     /** <a href="http://en.wikipedia.org/wiki/Taiwan">Taiwan, Province of China</a> */
-    TW("Taiwan, Province of China", "TWN", 158,886),
+    TW("Taiwan, Province of China", "TWN", 158,886, Region.EASTERN_ASIA, Continent.ASIA, "TWD"),
 
     /** <a href="http://en.wikipedia.org/wiki/Tanzania">United Republic of Tanzania</a> */
-    TZ("United Republic of Tanzania", "TZA", 834,255),
+    TZ("United Republic of Tanzania", "TZA", 834,255, Region.SUB_SAHARAN_AFRICA, Continent.AFRICA, "TZS"),
 
     /** <a href="http://en.wikipedia.org/wiki/Ukraine">Ukraine</a> */
-    UA("Ukraine", "UKR", 804,380),
+    UA("Ukraine", "UKR", 804,380, Region.EASTERN_EUROPE, Continent.EUROPE, "UAH"),
 
     /** <a href="http://en.wikipedia.org/wiki/Uganda">Uganda</a> */
-    UG("Uganda", "UGA", 800,256),
+    UG("Uganda", "UGA", 800,256, Region.SUB_SAHARAN_AFRICA, Continent.AFRICA, "UGX"),
 
     /** <a href="http://en.wikipedia.org/wiki/United_States_Minor_Outlying_Islands">United States Minor Outlying Islands</a> */
-    UM("United States Minor Outlying Islands", "UMI", 581,1),
+    UM("United States Minor Outlying Islands", "UMI", 581,1, Region.MICRONESIA, Continent.OCEANIA, "USD"),
 
     /** <a href="http://en.wikipedia.org/wiki/United_States">United States</a> */
-    US("United States", "USA", 840,1),
+    US("United States", "USA", 840,1, Region.NORTHERN_AMERICA, Continent.NORTH_AMERICA, "USD"),
 
     /** <a href="http://en.wikipedia.org/wiki/Uruguay">Uruguay</a> */
-    UY("Uruguay", "URY", 858,598),
+    UY("Uruguay", "URY", 858,598, Region.LATIN_AMERICA_AND_THE_CARIBBEAN, Continent.SOUTH_AMERICA, "UYU"),
 
     /** <a href="http://en.wikipedia.org/wiki/Uzbekistan">Uzbekistan</a> */
-    UZ("Uzbekistan", "UZB", 860,998),
+    UZ("Uzbekistan", "UZB", 860,998, Region.CENTRAL_ASIA, Continent.ASIA, "UZS"),
 
     /** <a href="http://en.wikipedia.org/wiki/Vatican_City">Holy See (Vatican City State)</a> */
-    VA("Holy See", "VAT", 336,39),
+    VA("Holy See", "VAT", 336,39, Region.SOUTHERN_EUROPE, Continent.EUROPE, "EUR"),
 
     /** <a href="http://en.wikipedia.org/wiki/Saint_Vincent_and_the_Grenadines">Saint Vincent and the Grenadines</a> */
-    VC("Saint Vincent and the Grenadines", "VCT", 670,1784),
+    VC("Saint Vincent and the Grenadines", "VCT", 670,1784, Region.LATIN_AMERICA_AND_THE_CARIBBEAN, Continent.NORTH_AMERICA, "XCD"),
 
     /** <a href="http://en.wikipedia.org/wiki/Venezuela">Bolivarian Republic of Venezuela</a> */
-    VE("Bolivarian Republic of Venezuela", "VEN", 862,58),
+    VE("Bolivarian Republic of Venezuela", "VEN", 862,58, Region.LATIN_AMERICA_AND_THE_CARIBBEAN, Continent.SOUTH_AMERICA, "VES"),
 
     /** <a href="http://en.wikipedia.org/wiki/British_Virgin_Islands">British Virgin Islands</a> */
-    VG("British Virgin Islands", "VGB", 92,1284),
+    VG("British Virgin Islands", "VGB", 92,1284, Region.LATIN_AMERICA_AND_THE_CARIBBEAN, Continent.NORTH_AMERICA, "USD"),
 
     /** <a href="http://en.wikipedia.org/wiki/United_States_Virgin_Islands">Virgin Islands, U.S.</a> */
-    VI("Virgin Islands, U.S.", "VIR", 850,1340),
+    VI("Virgin Islands, U.S.", "VIR", 850,1340, Region.LATIN_AMERICA_AND_THE_CARIBBEAN, Continent.NORTH_AMERICA, "USD"),
 
     /** <a href="http://en.wikipedia.org/wiki/Vietnam">Viet Nam</a> */
-    VN("Viet Nam", "VNM", 704,84),
+    VN("Viet Nam", "VNM", 704,84, Region.SOUTH_EASTERN_ASIA, Continent.ASIA, "VND"),
 
     /** <a href="http://en.wikipedia.org/wiki/Vanuatu">Vanuatu</a> */
-    VU("Vanuatu", "VUT", 548,678),
+    VU("Vanuatu", "VUT", 548,678, Region.MELANESIA, Continent.OCEANIA, "VUV"),
 
     /** <a href="http://en.wikipedia.org/wiki/Wallis_and_Futuna">Wallis and Futuna</a> */
-    WF("Wallis and Futuna", "WLF", 876,681),
+    WF("Wallis and Futuna", "WLF", 876,681, Region.POLYNESIA, Continent.OCEANIA, "XPF"),
 
     /** <a href="http://en.wikipedia.org/wiki/Samoa">Samoa</a> */
-    WS("Samoa", "WSM", 882,685),
+    WS("Samoa", "WSM", 882,685, Region.POLYNESIA, Continent.OCEANIA, "WST"),
 
     /** <a href="http://en.wikipedia.org/wiki/Yemen">Yemen</a> */
-    YE("Yemen", "YEM", 887,967),
+    YE("Yemen", "YEM", 887,967, Region.WESTERN_ASIA, Continent.ASIA, "YER"),
 
     /** <a href="http://en.wikipedia.org/wiki/Mayotte">Mayotte</a> */
-    YT("Mayotte", "MYT", 175,262),
+    YT("Mayotte", "MYT", 175,262, Region.SUB_SAHARAN_AFRICA, Continent.AFRICA, "EUR"),
 
     /** <a href="http://en.wikipedia.org/wiki/South_Africa">South Africa</a> */
-    ZA("South Africa", "ZAF", 710,27),
+    ZA("South Africa", "ZAF", 710,27, Region.SUB_SAHARAN_AFRICA, Continent.AFRICA, "ZAR"),
 
     /** <a href="http://en.wikipedia.org/wiki/Zambia">Zambia</a> */
-    ZM("Zambia", "ZMB", 894,260),
+    ZM("Zambia", "ZMB", 894,260, Region.SUB_SAHARAN_AFRICA, Continent.AFRICA, "ZMW"),
 
     /** <a href="http://en.wikipedia.org/wiki/Zimbabwe">Zimbabwe</a> */
-    ZW("Zimbabwe", "ZWE", 716,263),
+    ZW("Zimbabwe", "ZWE", 716,263, Region.SUB_SAHARAN_AFRICA, Continent.AFRICA, "ZWG"),
     ;
     // @formatter:on
 
 
-    private static final Map<String, CountryCode> alpha3Map = new HashMap<String, CountryCode>();
-    private static final Map<Integer, CountryCode> numericMap = new HashMap<Integer, CountryCode>();
-
-
-    static
-    {
-        for (CountryCode cc : values())
-        {
-            alpha3Map.put(cc.getAlpha3(), cc);
-            numericMap.put(cc.getNumeric(), cc);
-        }
-    }
-
-
     private final String name;
     private final String alpha3;
     private final int numeric;
-    private final int countryCode;
+    private final int countryPrefix;
+    private final Region subRegion;
+    private final Continent continent;
+    private final String currency;
+    private final char packedAlpha2;
+    private final int packedAlpha3;
 
 
-    private CountryCode(String name, String alpha3, int numeric, int countryPrefix)
+    private CountryCode(String name, String alpha3, int numeric, int countryPrefix,
+            Region subRegion, Continent continent, String currency)
     {
         this.name = name;
         this.alpha3 = alpha3;
         this.numeric = numeric;
         this.countryPrefix = countryPrefix;
+        this.subRegion = subRegion;
+        this.continent = continent;
+        this.currency = currency;
+        this.packedAlpha2 = PackedCountryCode.packAlpha2(name());
+        this.packedAlpha3 = PackedCountryCode.packAlpha3(alpha3);
     }
 
 
@@ -899,6 +912,208 @@ public enum CountryCode
         return countryPrefix;
     }
 
+
+    /**
+     * Get the alpha-2 code packed into 10 bits (5 bits per letter).
+     *
+     * @return
+     *         The packed alpha-2 code.
+     *
+     * @see PackedCountryCode
+     */
+    public char getPackedAlpha2()
+    {
+        return packedAlpha2;
+    }
+
+
+    /**
+     * Get the alpha-3 code packed into 15 bits (5 bits per letter).
+     *
+     * @return
+     *         The packed alpha-3 code.
+     *
+     * @see PackedCountryCode
+     */
+    public int getPackedAlpha3()
+    {
+        return packedAlpha3;
+    }
+
+
+    /**
+     * Get a textual form of this country. This method does not allocate.
+     *
+     * @param field
+     *         The form to get.
+     *
+     * @return
+     *         The cached string, e.g. "004" for {@link CountryCodeField#NUMERIC}.
+     */
+    public String getString(CountryCodeField field)
+    {
+        return Forms.strings[field.ordinal()][ordinal()];
+    }
+
+
+    /**
+     * Get the UTF-8 encoding of a textual form of this country.
+     *
+     * @param field
+     *         The form to get.
+     *
+     * @return
+     *         A read-only view of the cached encoding. The view itself
+     *         is a new object; use {@link #writeTo(ByteBuffer, CountryCodeField)}
+     *         on allocation-sensitive paths.
+     */
+    public ByteBuffer getUtf8(CountryCodeField field)
+    {
+        return ByteBuffer.wrap(Forms.utf8[field.ordinal()][ordinal()]).asReadOnlyBuffer();
+    }
+
+
+    /**
+     * Write the UTF-8 encoding of a textual form of this country.
+     * This method does not allocate or encode.
+     *
+     * @param buffer
+     *         Destination buffer.
+     *
+     * @param field
+     *         The form to write.
+     *
+     * @return
+     *         The number of bytes written.
+     *
+     * @throws java.nio.BufferOverflowException
+     *         Not enough space remains in the buffer.
+     */
+    public int writeTo(ByteBuffer buffer, CountryCodeField field)
+    {
+        byte[] bytes = Forms.utf8[field.ordinal()][ordinal()];
+
+        buffer.put(bytes);
+
+        return bytes.length;
+    }
+
+
+    /**
+     * Write the UTF-8 encoding of a textual form of this country.
+     * This method does not allocate or encode.
+     *
+     * @param out
+     *         Destination stream.
+     *
+     * @param field
+     *         The form to write.
+     *
+     * @return
+     *         The number of bytes written.
+     *
+     * @throws IOException
+     *         Failed to write.
+     */
+    public int writeTo(OutputStream out, CountryCodeField field) throws IOException
+    {
+        byte[] bytes = Forms.utf8[field.ordinal()][ordinal()];
+
+        out.write(bytes);
+
+        return bytes.length;
+    }
+
+
+    /**
+     * Append a textual form of this country. This method does not
+     * allocate unless the builder has to grow.
+     *
+     * @param builder
+     *         Destination builder.
+     *
+     * @param field
+     *         The form to append.
+     *
+     * @return
+     *         The builder.
+     */
+    public StringBuilder appendTo(StringBuilder builder, CountryCodeField field)
+    {
+        return builder.append(Forms.strings[field.ordinal()][ordinal()]);
+    }
+
+
+    /**
+     * Get the <a href="http://en.wikipedia.org/wiki/UN_M.49">UN M.49</a>
+     * region (e.g. {@link Region#EUROPE}).
+     *
+     * @return
+     *         The region, or null if the country does not belong to
+     *         any region (Antarctica).
+     */
+    public Region getRegion()
+    {
+        return subRegion == null ? null : subRegion.getParent();
+    }
+
+
+    /**
+     * Get the <a href="http://en.wikipedia.org/wiki/UN_M.49">UN M.49</a>
+     * sub-region (e.g. {@link Region#WESTERN_EUROPE}).
+     *
+     * @return
+     *         The sub-region, or null if the country does not belong to
+     *         any sub-region (Antarctica).
+     */
+    public Region getSubRegion()
+    {
+        return subRegion;
+    }
+
+
+    /**
+     * Get the continent.
+     *
+     * @return
+     *         The continent.
+     */
+    public Continent getContinent()
+    {
+        return continent;
+    }
+
+
+    /**
+     * Get the <a href="http://en.wikipedia.org/wiki/ISO_4217">ISO 4217</a>
+     * code of the currency in principal use.
+     *
+     * @return
+     *         The ISO 4217 alphabetic currency code (e.g. "EUR"),
+     *         or null if there is none.
+     */
+    public String getCurrencyCode()
+    {
+        return currency;
+    }
+
+
+    /**
+     * Check if this country belongs to a given region.
+     * Equivalent to {@link #isInRegion(CountryCode, Region)
+     * isInRegion(this, region)}.
+     *
+     * @param region
+     *         A region or grouping.
+     *
+     * @return
+     *         true if this country belongs to the region.
+     */
+    public boolean isIn(Region region)
+    {
+        return isInRegion(this, region);
+    }
+
     /**
      * Get a CountryCode that corresponds to a given ISO 3166-1
      * <a href="http://en.wikipedia.org/wiki/ISO_3166-1_alpha-2">alpha-2</a> or
@@ -933,22 +1148,46 @@ public enum CountryCode
     }
 
 
-    private static CountryCode getByAlpha2Code(String code)
+    /**
+     * Get a CountryCode that corresponds to a given ISO 3166-1
+     * <a href="http://en.wikipedia.org/wiki/ISO_3166-1_alpha-2">alpha-2</a> or
+     * <a href="http://en.wikipedia.org/wiki/ISO_3166-1_alpha-3">alpha-3</a> code,
+     * or optionally to an alias registered in {@link CountryCodeAliases}.
+     *
+     * @param code
+     *         An ISO 3166-1 <a href="http://en.wikipedia.org/wiki/ISO_3166-1_alpha-2"
+     *         >alpha-2</a> or <a href="http://en.wikipedia.org/wiki/ISO_3166-1_alpha-3"
+     *         >alpha-3</a> code, or an alias such as "UK".
+     *
+     * @param aliases
+     *         true to look up aliases when code is not an ISO code.
+     *         false to behave like {@link #getByCode(String)}.
+     *
+     * @return
+     *         A CountryCode instance, or null if not found.
+     */
+    public static CountryCode getByCode(String code, boolean aliases)
     {
-        try
-        {
-            return Enum.valueOf(CountryCode.class, code);
-        }
-        catch (IllegalArgumentException e)
+        CountryCode cc = getByCode(code);
+
+        if (cc != null || aliases == false)
         {
-            return null;
+            return cc;
         }
+
+        return CountryCodeAliases.resolve(code);
+    }
+
+
+    private static CountryCode getByAlpha2Code(String code)
+    {
+        return PackedCountryCode.decodeAlpha2(PackedCountryCode.packAlpha2(code));
     }
 
 
     private static CountryCode getByAlpha3Code(String code)
     {
-        return alpha3Map.get(code);
+        return PackedCountryCode.decodeAlpha3(PackedCountryCode.packAlpha3(code));
     }
 
 
@@ -966,6 +1205,442 @@ public enum CountryCode
      */
     public static CountryCode getByCode(int code)
     {
-        return numericMap.get(code);
+        if (code < 0 || NumericIndex.table.length <= code)
+        {
+            return null;
+        }
+
+        return NumericIndex.table[code];
+    }
+
+
+    /**
+     * Get a CountryCode that corresponds to a packed alpha-2 code.
+     * This is a direct array lookup.
+     *
+     * @param packed
+     *         An alpha-2 code packed by {@link PackedCountryCode}.
+     *
+     * @return
+     *         A CountryCode instance, or null if not found.
+     */
+    public static CountryCode fromPackedAlpha2(int packed)
+    {
+        return PackedCountryCode.decodeAlpha2(packed);
+    }
+
+
+    /**
+     * Get a CountryCode that corresponds to a packed alpha-3 code.
+     * This is a direct array lookup.
+     *
+     * @param packed
+     *         An alpha-3 code packed by {@link PackedCountryCode}.
+     *
+     * @return
+     *         A CountryCode instance, or null if not found.
+     */
+    public static CountryCode fromPackedAlpha3(int packed)
+    {
+        return PackedCountryCode.decodeAlpha3(packed);
+    }
+
+
+    /**
+     * Get the countries that belong to a given region or grouping.
+     * The returned set is precomputed; this method does not allocate.
+     *
+     * @param region
+     *         A region or grouping.
+     *
+     * @return
+     *         An unmodifiable set of countries, or an empty set
+     *         if region is null.
+     */
+    public static Set<CountryCode> inRegion(Region region)
+    {
+        if (region == null)
+        {
+            return Collections.emptySet();
+        }
+
+        return Groupings.regionSets.get(region);
+    }
+
+
+    /**
+     * Get the countries that belong to the region or grouping that
+     * has a given code. This method does not allocate.
+     *
+     * @param regionCode
+     *         A <a href="http://en.wikipedia.org/wiki/UN_M.49">UN M.49</a>
+     *         code (e.g. "150") or a grouping abbreviation (e.g. "EU").
+     *
+     * @return
+     *         An unmodifiable set of countries, or null if no region
+     *         has the code.
+     */
+    public static Set<CountryCode> inRegion(String regionCode)
+    {
+        Region region = Region.getByCode(regionCode);
+
+        if (region == null)
+        {
+            return null;
+        }
+
+        return Groupings.regionSets.get(region);
+    }
+
+
+    /**
+     * Check if a country belongs to a given region or grouping.
+     * This is a single bit test.
+     *
+     * @param cc
+     *         A country.
+     *
+     * @param region
+     *         A region or grouping.
+     *
+     * @return
+     *         true if the country belongs to the region. false if
+     *         either argument is null.
+     */
+    public static boolean isInRegion(CountryCode cc, Region region)
+    {
+        if (cc == null || region == null)
+        {
+            return false;
+        }
+
+        return Groupings.isSet(region.ordinal(), cc.ordinal());
+    }
+
+
+    /**
+     * Check if a country belongs to the region or grouping that has
+     * a given code.
+     *
+     * @param cc
+     *         A country.
+     *
+     * @param regionCode
+     *         A <a href="http://en.wikipedia.org/wiki/UN_M.49">UN M.49</a>
+     *         code (e.g. "150") or a grouping abbreviation (e.g. "EU").
+     *
+     * @return
+     *         true if the country belongs to the region.
+     */
+    public static boolean isInRegion(CountryCode cc, String regionCode)
+    {
+        return isInRegion(cc, Region.getByCode(regionCode));
+    }
+
+
+    /**
+     * Get the countries on a given continent.
+     * The returned set is precomputed; this method does not allocate.
+     *
+     * @param continent
+     *         A continent.
+     *
+     * @return
+     *         An unmodifiable set of countries, or an empty set
+     *         if continent is null.
+     */
+    public static Set<CountryCode> onContinent(Continent continent)
+    {
+        if (continent == null)
+        {
+            return Collections.emptySet();
+        }
+
+        return Groupings.continentSets.get(continent);
+    }
+
+
+    /**
+     * Get the countries whose currency in principal use is a given
+     * <a href="http://en.wikipedia.org/wiki/ISO_4217">ISO 4217</a> code.
+     * The returned set is precomputed; this method does not allocate.
+     *
+     * @param currencyCode
+     *         An ISO 4217 alphabetic currency code (e.g. "EUR").
+     *
+     * @return
+     *         An unmodifiable set of countries. Empty if no country
+     *         uses the currency.
+     */
+    public static Set<CountryCode> withCurrency(String currencyCode)
+    {
+        if (currencyCode == null)
+        {
+            return Collections.emptySet();
+        }
+
+        Set<CountryCode> set = Groupings.currencySets.get(currencyCode);
+
+        if (set == null)
+        {
+            return Collections.emptySet();
+        }
+
+        return set;
+    }
+
+
+    /**
+     * ISO 3166-1 numeric code to CountryCode. Built on first use.
+     */
+    private static final class NumericIndex
+    {
+        static final CountryCode[] table = new CountryCode[1000];
+
+
+        static
+        {
+            for (CountryCode cc : values())
+            {
+                table[cc.getNumeric()] = cc;
+            }
+        }
+    }
+
+
+    /**
+     * Precomputed region, continent and currency groupings.
+     * Built on first use.
+     */
+    private static final class Groupings
+    {
+        /**
+         * Number of long words needed to hold one bit per constant.
+         */
+        static final int MASK_WORDS = (values().length + 63) >>> 6;
+
+        /**
+         * Membership bits of each region, indexed by
+         * region.ordinal() * MASK_WORDS + (cc.ordinal() >>> 6).
+         */
+        static final long[] regionMasks = new long[Region.values().length * MASK_WORDS];
+
+        static final Map<Region, Set<CountryCode>> regionSets = new EnumMap<Region, Set<CountryCode>>(Region.class);
+        static final Map<Continent, Set<CountryCode>> continentSets = new EnumMap<Continent, Set<CountryCode>>(Continent.class);
+        static final Map<String, Set<CountryCode>> currencySets = new HashMap<String, Set<CountryCode>>();
+
+
+        static
+        {
+            Map<Continent, EnumSet<CountryCode>> continents = new EnumMap<Continent, EnumSet<CountryCode>>(Continent.class);
+            Map<String, EnumSet<CountryCode>> currencies = new HashMap<String, EnumSet<CountryCode>>();
+
+            for (Continent continent : Continent.values())
+            {
+                continents.put(continent, EnumSet.noneOf(CountryCode.class));
+            }
+
+            for (CountryCode cc : values())
+            {
+                if (cc.subRegion != null)
+                {
+                    setRegionBit(cc.subRegion, cc);
+                    setRegionBit(cc.subRegion.getParent(), cc);
+                }
+
+                continents.get(cc.continent).add(cc);
+
+                if (cc.currency != null)
+                {
+                    EnumSet<CountryCode> set = currencies.get(cc.currency);
+
+                    if (set == null)
+                    {
+                        set = EnumSet.noneOf(CountryCode.class);
+                        currencies.put(cc.currency, set);
+                    }
+
+                    set.add(cc);
+                }
+            }
+
+            // Groupings only refer to regions declared before them,
+            // so a single pass in declaration order resolves them all.
+            for (Region region : Region.values())
+            {
+                if (region.isGrouping() == false)
+                {
+                    continue;
+                }
+
+                for (Region component : region.getComponents())
+                {
+                    int src = component.ordinal() * MASK_WORDS;
+                    int dst = region.ordinal() * MASK_WORDS;
+
+                    for (int i = 0; i < MASK_WORDS; ++i)
+                    {
+                        regionMasks[dst + i] |= regionMasks[src + i];
+                    }
+                }
+
+                for (String member : region.getMembers())
+                {
+                    setRegionBit(region, getByCode(member));
+                }
+            }
+
+            CountryCode[] all = values();
+
+            for (Region region : Region.values())
+            {
+                EnumSet<CountryCode> set = EnumSet.noneOf(CountryCode.class);
+
+                for (CountryCode cc : all)
+                {
+                    if (isSet(region.ordinal(), cc.ordinal()))
+                    {
+                        set.add(cc);
+                    }
+                }
+
+                regionSets.put(region, Collections.unmodifiableSet(set));
+            }
+
+            for (Map.Entry<Continent, EnumSet<CountryCode>> entry : continents.entrySet())
+            {
+                continentSets.put(entry.getKey(), Collections.unmodifiableSet(entry.getValue()));
+            }
+
+            for (Map.Entry<String, EnumSet<CountryCode>> entry : currencies.entrySet())
+            {
+                currencySets.put(entry.getKey(), Collections.unmodifiableSet(entry.getValue()));
+            }
+        }
+
+
+        static boolean isSet(int region, int index)
+        {
+            return (regionMasks[region * MASK_WORDS + (index >>> 6)] & (1L << index)) != 0;
+        }
+
+
+        static void setRegionBit(Region region, CountryCode cc)
+        {
+            int index = cc.ordinal();
+
+            regionMasks[region.ordinal() * MASK_WORDS + (index >>> 6)] |= 1L << index;
+        }
+    }
+
+
+    /**
+     * Cached strings and UTF-8 encodings of each {@link CountryCodeField},
+     * indexed by [field.ordinal()][cc.ordinal()]. Built on first use.
+     */
+    private static final class Forms
+    {
+        private static final char[] HEX = "0123456789ABCDEF".toCharArray();
+
+        static final String[][] strings;
+        static final byte[][][] utf8;
+
+
+        static
+        {
+            CountryCode[] values = values();
+            CountryCodeField[] fields = CountryCodeField.values();
+
+            strings = new String[fields.length][values.length];
+            utf8 = new byte[fields.length][values.length][];
+
+            for (CountryCodeField field : fields)
+            {
+                for (CountryCode cc : values)
+                {
+                    String string = format(cc, field);
+
+                    strings[field.ordinal()][cc.ordinal()] = string;
+                    utf8[field.ordinal()][cc.ordinal()] = encode(string);
+                }
+            }
+        }
+
+
+        private static String format(CountryCode cc, CountryCodeField field)
+        {
+            switch (field)
+            {
+                case ALPHA2:
+                    return cc.getAlpha2();
+
+                case ALPHA3:
+                    return cc.getAlpha3();
+
+                case NUMERIC:
+                    // Not String.format, whose digits depend on the
+                    // default locale.
+                    int numeric = cc.getNumeric();
+
+                    return new String(new char[] {
+                        (char)('0' + numeric / 100 % 10),
+                        (char)('0' + numeric / 10 % 10),
+                        (char)('0' + numeric % 10)
+                    });
+
+                case NAME:
+                    return cc.getName();
+
+                case JSON_NAME:
+                    return toJsonString(cc.getName());
+
+                default:
+                    throw new AssertionError(field);
+            }
+        }
+
+
+        private static String toJsonString(String value)
+        {
+            StringBuilder builder = new StringBuilder(value.length() + 2);
+
+            builder.append('"');
+
+            for (int i = 0; i < value.length(); ++i)
+            {
+                char c = value.charAt(i);
+
+                if (c == '"' || c == '\\')
+                {
+                    builder.append('\\').append(c);
+                }
+                else if (c < 0x20 || 0x7E < c)
+                {
+                    builder.append('\\').append('u')
+                           .append(HEX[(c >>> 12) & 0xF]).append(HEX[(c >>> 8) & 0xF])
+                           .append(HEX[(c >>> 4) & 0xF]).append(HEX[c & 0xF]);
+                }
+                else
+                {
+                    builder.append(c);
+                }
+            }
+
+            return builder.append('"').toString();
+        }
+
+
+        private static byte[] encode(String string)
+        {
+            try
+            {
+                return string.getBytes("UTF-8");
+            }
+            catch (UnsupportedEncodingException e)
+            {
+                // UTF-8 is always supported.
+                throw new AssertionError(e);
+            }
+        }
     }
 }
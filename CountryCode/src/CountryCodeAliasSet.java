@@ -0,0 +1,168 @@
+/*
+ * Copyright (C) 2012 Neo Visionaries Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+/**
+ * Bundled sets of non-ISO country codes that can be enabled in
+ * {@link CountryCodeAliases}.
+ *
+ * <p>
+ * Only codes that differ from the ISO 3166-1 alpha-2/alpha-3 code of
+ * the same country are listed. An alias never shadows an ISO code, so
+ * e.g. the IOC code "ANT" (Antigua and Barbuda) still resolves to
+ * {@link CountryCode#AN}.
+ * </p>
+ */
+public enum CountryCodeAliasSet
+{
+    // @formatter:off
+    /**
+     * Codes used by European Union institutions: "EL" for Greece and
+     * "UK" for the United Kingdom.
+     */
+    EU(
+        "EL", "GR",
+        "UK", "GB"
+    ),
+
+    /**
+     * <a href="http://en.wikipedia.org/wiki/ISO_3166-1_alpha-2#Exceptional_reservations"
+     * >Exceptionally reserved</a> ISO 3166-1 alpha-2 codes that stand for
+     * part of an assigned country.
+     */
+    EXCEPTIONAL(
+        "AC", "SH",
+        "CP", "FR",
+        "DG", "IO",
+        "EA", "ES",
+        "FX", "FR",
+        "IC", "ES",
+        "TA", "SH",
+        "UK", "GB"
+    ),
+
+    /**
+     * <a href="http://en.wikipedia.org/wiki/ISO_3166-1#Transitional_reservations"
+     * >Withdrawn</a> codes of countries that were renamed or whose code
+     * was changed.
+     */
+    LEGACY(
+        "BU", "MM", "BUR", "MM",
+        "FX", "FR", "FXX", "FR",
+        "ROM", "RO",
+        "TP", "TL", "TMP", "TL",
+        "ZR", "CD", "ZAR", "CD"
+    ),
+
+    /**
+     * <a href="http://en.wikipedia.org/wiki/List_of_IOC_country_codes"
+     * >International Olympic Committee</a> codes.
+     */
+    IOC(
+        "ALG", "DZ", "ANG", "AO", "ANT", "AG", "ARU", "AW", "ASA", "AS",
+        "BAH", "BS", "BAN", "BD", "BAR", "BB", "BER", "BM", "BHU", "BT",
+        "BIZ", "BZ", "BOT", "BW", "BRU", "BN", "BUL", "BG", "BUR", "BF",
+        "CAM", "KH", "CAY", "KY", "CGO", "CG", "CHA", "TD", "CHI", "CL",
+        "CRC", "CR", "CRO", "HR", "DEN", "DK", "ESA", "SV", "FIJ", "FJ",
+        "GAM", "GM", "GBS", "GW", "GEQ", "GQ", "GER", "DE", "GRE", "GR",
+        "GRN", "GD", "GUA", "GT", "GUI", "GN", "HAI", "HT", "HON", "HN",
+        "INA", "ID", "IRI", "IR", "ISV", "VI", "IVB", "VG", "KSA", "SA",
+        "KUW", "KW", "LAT", "LV", "LBA", "LY", "LES", "LS", "LIB", "LB",
+        "MAD", "MG", "MAS", "MY", "MAW", "MW", "MGL", "MN", "MON", "MC",
+        "MRI", "MU", "MTN", "MR", "MYA", "MM", "NCA", "NI", "NED", "NL",
+        "NEP", "NP", "NGR", "NG", "NIG", "NE", "OMA", "OM", "PAR", "PY",
+        "PHI", "PH", "PLE", "PS", "POR", "PT", "PUR", "PR", "RSA", "ZA",
+        "SAM", "WS", "SEY", "SC", "SIN", "SG", "SKN", "KN", "SLO", "SI",
+        "SOL", "SB", "SRI", "LK", "SUD", "SD", "SUI", "CH", "TAN", "TZ",
+        "TGA", "TO", "TOG", "TG", "TPE", "TW", "UAE", "AE", "URU", "UY",
+        "VAN", "VU", "VIE", "VN", "VIN", "VC", "ZAM", "ZM", "ZIM", "ZW"
+    ),
+
+    /**
+     * <a href="http://en.wikipedia.org/wiki/List_of_FIFA_country_codes"
+     * >FIFA</a> codes, including the four United Kingdom home nations.
+     */
+    FIFA(
+        "ALG", "DZ", "ANG", "AO", "ARU", "AW", "ASA", "AS", "BAH", "BS",
+        "BAN", "BD", "BER", "BM", "BHU", "BT", "BOT", "BW", "BRU", "BN",
+        "BUL", "BG", "CAM", "KH", "CAY", "KY", "CGO", "CG", "CHA", "TD",
+        "CHI", "CL", "CRC", "CR", "CRO", "HR", "DEN", "DK", "ENG", "GB",
+        "EQG", "GQ", "FIJ", "FJ", "GAM", "GM", "GER", "DE", "GRE", "GR",
+        "GRN", "GD", "GUA", "GT", "GUI", "GN", "HAI", "HT", "HON", "HN",
+        "KSA", "SA", "KUW", "KW", "LES", "LS", "MAD", "MG", "MAS", "MY",
+        "MRI", "MU", "MTN", "MR", "MYA", "MM", "NCA", "NI", "NED", "NL",
+        "NEP", "NP", "NGR", "NG", "NIG", "NE", "NIR", "GB", "OMA", "OM",
+        "PAR", "PY", "PHI", "PH", "PLE", "PS", "POR", "PT", "PUR", "PR",
+        "RSA", "ZA", "SAM", "WS", "SCO", "GB", "SEY", "SC", "SIN", "SG",
+        "SKN", "KN", "SOL", "SB", "SRI", "LK", "SUI", "CH", "TAH", "PF",
+        "TAN", "TZ", "TGA", "TO", "TOG", "TG", "TPE", "TW", "TRI", "TT",
+        "UAE", "AE", "URU", "UY", "VAN", "VU", "VIE", "VN", "VIN", "VC",
+        "WAL", "GB", "ZAM", "ZM", "ZIM", "ZW"
+    ),
+    ;
+    // @formatter:on
+
+
+    private final String[] pairs;
+
+
+    private CountryCodeAliasSet(String... pairs)
+    {
+        this.pairs = pairs;
+    }
+
+
+    /**
+     * Get the number of aliases in this set.
+     *
+     * @return
+     *         The number of aliases.
+     */
+    public int size()
+    {
+        return pairs.length / 2;
+    }
+
+
+    /**
+     * Get an alias.
+     *
+     * @param index
+     *         0 to {@link #size()} - 1.
+     *
+     * @return
+     *         The alias code.
+     */
+    public String getAlias(int index)
+    {
+        return pairs[index * 2];
+    }
+
+
+    /**
+     * Get the country an alias stands for.
+     *
+     * @param index
+     *         0 to {@link #size()} - 1.
+     *
+     * @return
+     *         The country.
+     */
+    public CountryCode getCountryCode(int index)
+    {
+        return CountryCode.getByCode(pairs[index * 2 + 1]);
+    }
+}
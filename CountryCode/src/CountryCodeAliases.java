@@ -0,0 +1,292 @@
+/*
+ * Copyright (C) 2012 Neo Visionaries Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+
+/**
+ * Registry of non-ISO codes (aliases) for countries, such as "UK" for
+ * {@link CountryCode#GB} or the IOC code "GER" for {@link CountryCode#DE}.
+ *
+ * <p>
+ * The registry starts empty. Enable bundled sets with
+ * {@link #enable(CountryCodeAliasSet)} or add aliases with
+ * {@link #register(String, CountryCode)}, then look codes up with
+ * {@link CountryCode#getByCode(String, boolean) CountryCode.getByCode(code, true)}.
+ * Aliases are two or three upper-case letters and never shadow ISO codes.
+ * </p>
+ *
+ * <p>
+ * Lookups are lock-free. The aliases are held in an immutable index of
+ * direct tables keyed by packed code (see {@link PackedCountryCode}),
+ * the same structure the ISO lookups use, and a change copies the
+ * index and publishes the copy. Changes are expected to be rare.
+ * </p>
+ *
+ * <pre style="background-color: #EEEEEE; margin-left: 2em; margin-right: 2em; border: 1px solid black;">
+ * CountryCodeAliases.{@link #enable(CountryCodeAliasSet) enable}(CountryCodeAliasSet.EU);
+ * CountryCodeAliases.{@link #register(String, CountryCode) register}("KO", CountryCode.KR);
+ *
+ * CountryCode.getByCode("UK", true);  <span style="color: darkgreen;">// GB</span>
+ * CountryCode.getByCode("UK");        <span style="color: darkgreen;">// null</span>
+ * </pre>
+ */
+public final class CountryCodeAliases
+{
+    private static final Object lock = new Object();
+    private static volatile Index index = new Index();
+
+
+    private CountryCodeAliases()
+    {
+    }
+
+
+    /**
+     * Get the country an alias stands for. ISO codes are not consulted.
+     *
+     * @param alias
+     *         An alias.
+     *
+     * @return
+     *         The country, or null if alias is not registered.
+     */
+    public static CountryCode resolve(String alias)
+    {
+        if (alias == null)
+        {
+            return null;
+        }
+
+        Index current = index;
+
+        switch (alias.length())
+        {
+            case 2:
+                return current.get(current.alpha2, PackedCountryCode.packAlpha2(alias));
+
+            case 3:
+                return current.get(current.alpha3, PackedCountryCode.packAlpha3(alias));
+
+            default:
+                return null;
+        }
+    }
+
+
+    /**
+     * Register an alias. An existing registration of the same alias
+     * is replaced.
+     *
+     * @param alias
+     *         Two or three upper-case letters.
+     *
+     * @param cc
+     *         The country the alias stands for.
+     *
+     * @throws IllegalArgumentException
+     *         alias is not two or three upper-case letters, or cc is null.
+     */
+    public static void register(String alias, CountryCode cc)
+    {
+        if (cc == null)
+        {
+            throw new IllegalArgumentException("cc is null.");
+        }
+
+        checkAlias(alias);
+
+        synchronized (lock)
+        {
+            Index copy = index.copy();
+
+            copy.put(alias, cc);
+
+            index = copy;
+        }
+    }
+
+
+    /**
+     * Unregister an alias.
+     *
+     * @param alias
+     *         An alias.
+     *
+     * @return
+     *         The country the alias stood for, or null if it was
+     *         not registered.
+     */
+    public static CountryCode unregister(String alias)
+    {
+        synchronized (lock)
+        {
+            CountryCode cc = resolve(alias);
+
+            if (cc != null)
+            {
+                Index copy = index.copy();
+
+                copy.remove(alias);
+
+                index = copy;
+            }
+
+            return cc;
+        }
+    }
+
+
+    /**
+     * Register every alias of a bundled set. Aliases already registered
+     * are replaced. The change is published atomically.
+     *
+     * @param set
+     *         A bundled alias set.
+     */
+    public static void enable(CountryCodeAliasSet set)
+    {
+        synchronized (lock)
+        {
+            Index copy = index.copy();
+
+            for (int i = 0; i < set.size(); ++i)
+            {
+                copy.put(set.getAlias(i), set.getCountryCode(i));
+            }
+
+            index = copy;
+        }
+    }
+
+
+    /**
+     * Unregister every alias.
+     */
+    public static void clear()
+    {
+        synchronized (lock)
+        {
+            index = new Index();
+        }
+    }
+
+
+    /**
+     * Get all registered aliases.
+     *
+     * @return
+     *         An unmodifiable snapshot of the aliases and the countries
+     *         they stand for.
+     */
+    public static Map<String, CountryCode> getAliases()
+    {
+        return index.view;
+    }
+
+
+    private static void checkAlias(String alias)
+    {
+        int length = (alias == null) ? 0 : alias.length();
+
+        if ((length != 2 || PackedCountryCode.packAlpha2(alias) == 0)
+                && (length != 3 || PackedCountryCode.packAlpha3(alias) == 0))
+        {
+            throw new IllegalArgumentException("An alias must be two or three upper-case letters: " + alias);
+        }
+    }
+
+
+    /**
+     * Immutable once published.
+     */
+    private static final class Index
+    {
+        static final CountryCode[] values = CountryCode.values();
+
+        /**
+         * Packed alias to (ordinal + 1), with 0 meaning "not registered".
+         */
+        final byte[] alpha2;
+        final byte[] alpha3;
+        final Map<String, CountryCode> map;
+        final Map<String, CountryCode> view;
+
+
+        Index()
+        {
+            this(new byte[1 << 10], new byte[1 << 15], new HashMap<String, CountryCode>());
+        }
+
+
+        private Index(byte[] alpha2, byte[] alpha3, Map<String, CountryCode> map)
+        {
+            this.alpha2 = alpha2;
+            this.alpha3 = alpha3;
+            this.map = map;
+            this.view = Collections.unmodifiableMap(map);
+        }
+
+
+        Index copy()
+        {
+            return new Index(alpha2.clone(), alpha3.clone(), new HashMap<String, CountryCode>(map));
+        }
+
+
+        CountryCode get(byte[] table, int packed)
+        {
+            int ordinal = table[packed] & 0xFF;
+
+            return ordinal == 0 ? null : values[ordinal - 1];
+        }
+
+
+        void put(String alias, CountryCode cc)
+        {
+            byte value = (byte)(cc.ordinal() + 1);
+
+            if (alias.length() == 2)
+            {
+                alpha2[PackedCountryCode.packAlpha2(alias)] = value;
+            }
+            else
+            {
+                alpha3[PackedCountryCode.packAlpha3(alias)] = value;
+            }
+
+            map.put(alias, cc);
+        }
+
+
+        void remove(String alias)
+        {
+            if (alias.length() == 2)
+            {
+                alpha2[PackedCountryCode.packAlpha2(alias)] = 0;
+            }
+            else
+            {
+                alpha3[PackedCountryCode.packAlpha3(alias)] = 0;
+            }
+
+            map.remove(alias);
+        }
+    }
+}
@@ -0,0 +1,535 @@
+/*
+ * Copyright (C) 2012 Neo Visionaries Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Arrays;
+import java.util.Set;
+
+
+/**
+ * Streaming reader of columns written by {@link CountryCodeColumnWriter}.
+ *
+ * <p>
+ * Rows are decoded block by block into reused buffers, so reading does
+ * not allocate per value. Alpha-2 codes in the column's dictionary that
+ * are unknown to this version of CountryCode are read as null.
+ * </p>
+ *
+ * <p>
+ * With a predicate set by {@link #setPredicate(Set)},
+ * {@link #readMatchingRows(long[], int, int)} returns only the indexes of
+ * rows whose value is in the predicate, and skips blocks that contain no
+ * such value without decoding them.
+ * </p>
+ *
+ * <pre style="background-color: #EEEEEE; margin-left: 2em; margin-right: 2em; border: 1px solid black;">
+ * CountryCodeColumnReader reader = new CountryCodeColumnReader(in);
+ * CountryCode[] buffer = new CountryCode[1024];
+ * int n;
+ *
+ * while ((n = reader.{@link #read(CountryCode[], int, int) read}(buffer, 0, buffer.length)) != -1)
+ * {
+ *     ...
+ * }
+ * </pre>
+ */
+public class CountryCodeColumnReader implements Closeable
+{
+    /**
+     * Value stored by {@link #read(byte[], int, int)} for null.
+     */
+    public static final byte NULL_ORDINAL = (byte)0xFF;
+
+
+    private final DataInputStream in;
+
+    /**
+     * Dictionary id to CountryCode. Index 0 is null.
+     */
+    private final CountryCode[] dictionary;
+
+    /**
+     * Dictionary id to ordinal as a byte, or {@link #NULL_ORDINAL}.
+     */
+    private final byte[] ordinals;
+
+    /**
+     * Dictionary id to whether it satisfies the predicate.
+     */
+    private final boolean[] matches;
+
+    private final byte[] palette = new byte[256];
+    private byte[] block = new byte[CountryCodeColumnWriter.DEFAULT_BLOCK_SIZE];
+    private byte[] payload = new byte[CountryCodeColumnWriter.DEFAULT_BLOCK_SIZE];
+    private int blockRows;
+    private int blockPos;
+    private long rowIndex;
+    private boolean hasPredicate;
+    private boolean eof;
+
+
+    /**
+     * Constructor.
+     *
+     * @param in
+     *         Input stream positioned at the start of a column.
+     *
+     * @throws IllegalArgumentException
+     *         in is null.
+     *
+     * @throws IOException
+     *         Failed to read the header, or the header is malformed.
+     */
+    public CountryCodeColumnReader(InputStream in) throws IOException
+    {
+        if (in == null)
+        {
+            throw new IllegalArgumentException("in is null.");
+        }
+
+        this.in = new DataInputStream(in);
+
+        if (this.in.readInt() != CountryCodeColumnWriter.MAGIC)
+        {
+            throw new IOException("Not a country code column.");
+        }
+
+        int version = this.in.readUnsignedByte();
+
+        if (version != CountryCodeColumnWriter.VERSION)
+        {
+            throw new IOException("Unsupported country code column version: " + version);
+        }
+
+        int size = this.in.readUnsignedShort();
+
+        if (size > 255)
+        {
+            throw new IOException("Dictionary too large: " + size);
+        }
+
+        dictionary = new CountryCode[size + 1];
+        ordinals = new byte[size + 1];
+        matches = new boolean[size + 1];
+        ordinals[0] = NULL_ORDINAL;
+
+        char[] code = new char[2];
+
+        for (int id = 1; id <= size; ++id)
+        {
+            code[0] = (char)this.in.readUnsignedByte();
+            code[1] = (char)this.in.readUnsignedByte();
+
+            CountryCode cc = CountryCode.getByCode(new String(code));
+
+            dictionary[id] = cc;
+            ordinals[id] = (cc == null) ? NULL_ORDINAL : (byte)cc.ordinal();
+        }
+
+        setPredicate(null);
+    }
+
+
+    /**
+     * Set the predicate used by {@link #readMatchingRows(long[], int, int)}.
+     *
+     * @param countries
+     *         Countries to match, or null to match every row. The set
+     *         is copied; later changes to it have no effect.
+     */
+    public void setPredicate(Set<CountryCode> countries)
+    {
+        hasPredicate = (countries != null);
+
+        for (int id = 0; id < dictionary.length; ++id)
+        {
+            matches[id] = !hasPredicate || (dictionary[id] != null && countries.contains(dictionary[id]));
+        }
+    }
+
+
+    /**
+     * Get the index of the next row to be read.
+     *
+     * @return
+     *         The index of the next row.
+     */
+    public long getRowIndex()
+    {
+        return rowIndex + blockPos;
+    }
+
+
+    /**
+     * Read values.
+     *
+     * @param dst
+     *         Destination of values. Nulls in the column, and codes
+     *         unknown to this version of CountryCode, are stored as null.
+     *
+     * @param off
+     *         Offset of the first value in dst.
+     *
+     * @param len
+     *         Maximum number of values to read.
+     *
+     * @return
+     *         The number of values read, or -1 if the end of the
+     *         column has been reached.
+     *
+     * @throws IOException
+     *         Failed to read, or the column is malformed.
+     */
+    public int read(CountryCode[] dst, int off, int len) throws IOException
+    {
+        int total = 0;
+
+        while (total < len && ensureBlock())
+        {
+            int n = Math.min(len - total, blockRows - blockPos);
+
+            for (int i = 0; i < n; ++i)
+            {
+                dst[off + total + i] = dictionary[block[blockPos + i] & 0xFF];
+            }
+
+            blockPos += n;
+            total += n;
+        }
+
+        return (total == 0 && len > 0) ? -1 : total;
+    }
+
+
+    /**
+     * Read values as ordinals.
+     *
+     * @param dst
+     *         Destination of {@link CountryCode#ordinal() ordinals}. Read
+     *         each with {@code dst[i] & 0xFF}. Nulls, and codes unknown to
+     *         this version of CountryCode, are stored as {@link #NULL_ORDINAL}.
+     *
+     * @param off
+     *         Offset of the first value in dst.
+     *
+     * @param len
+     *         Maximum number of values to read.
+     *
+     * @return
+     *         The number of values read, or -1 if the end of the
+     *         column has been reached.
+     *
+     * @throws IOException
+     *         Failed to read, or the column is malformed.
+     */
+    public int read(byte[] dst, int off, int len) throws IOException
+    {
+        int total = 0;
+
+        while (total < len && ensureBlock())
+        {
+            int n = Math.min(len - total, blockRows - blockPos);
+
+            for (int i = 0; i < n; ++i)
+            {
+                dst[off + total + i] = ordinals[block[blockPos + i] & 0xFF];
+            }
+
+            blockPos += n;
+            total += n;
+        }
+
+        return (total == 0 && len > 0) ? -1 : total;
+    }
+
+
+    /**
+     * Read the indexes of rows whose value satisfies the predicate set by
+     * {@link #setPredicate(Set)}. Blocks whose palette contains no
+     * matching value are skipped without being decoded.
+     *
+     * @param rows
+     *         Destination of row indexes.
+     *
+     * @param off
+     *         Offset of the first row index in rows.
+     *
+     * @param len
+     *         Maximum number of row indexes to read.
+     *
+     * @return
+     *         The number of row indexes read, or -1 if the end of the
+     *         column has been reached.
+     *
+     * @throws IOException
+     *         Failed to read, or the column is malformed.
+     */
+    public int readMatchingRows(long[] rows, int off, int len) throws IOException
+    {
+        int total = 0;
+
+        while (total < len)
+        {
+            if (blockPos == blockRows && nextBlock(hasPredicate) == false)
+            {
+                break;
+            }
+
+            while (blockPos < blockRows && total < len)
+            {
+                if (matches[block[blockPos] & 0xFF])
+                {
+                    rows[off + total++] = rowIndex + blockPos;
+                }
+
+                ++blockPos;
+            }
+        }
+
+        return (total == 0 && len > 0 && eof) ? -1 : total;
+    }
+
+
+    /**
+     * Close the underlying stream.
+     *
+     * @throws IOException
+     *         Failed to close.
+     */
+    public void close() throws IOException
+    {
+        in.close();
+    }
+
+
+    private boolean ensureBlock() throws IOException
+    {
+        return blockPos < blockRows || nextBlock(false);
+    }
+
+
+    /**
+     * Load the next block.
+     *
+     * @param filter
+     *         true to skip blocks that contain no matching value.
+     *
+     * @return
+     *         false if the end of the column has been reached.
+     */
+    private boolean nextBlock(boolean filter) throws IOException
+    {
+        while (eof == false)
+        {
+            rowIndex += blockRows;
+            blockRows = 0;
+            blockPos = 0;
+
+            int count = in.readInt();
+
+            if (count == 0)
+            {
+                eof = true;
+                break;
+            }
+
+            if (count < 0 || CountryCodeColumnWriter.MAX_BLOCK_SIZE < count)
+            {
+                throw new IOException("Malformed block row count: " + count);
+            }
+
+            int k = in.readUnsignedByte();
+            boolean any = false;
+
+            // A block of rows has at least one palette entry, and no more
+            // than there are dictionary ids.
+            if (k == 0 || dictionary.length < k)
+            {
+                throw new IOException("Malformed palette size: " + k);
+            }
+
+            in.readFully(palette, 0, k);
+
+            for (int i = 0; i < k; ++i)
+            {
+                int id = palette[i] & 0xFF;
+
+                if (id >= dictionary.length)
+                {
+                    throw new IOException("Malformed dictionary id: " + id);
+                }
+
+                any |= matches[id];
+            }
+
+            int encoding = in.readUnsignedByte();
+            int length = in.readInt();
+
+            // Packed: 1 + at most 1 byte per row. Runs: at most 1 + 5
+            // bytes per row.
+            if (length < 0 || 6L * count < length)
+            {
+                throw new IOException("Malformed block length: " + length);
+            }
+
+            if (filter && any == false)
+            {
+                // Predicate pushdown: nothing in this block can match.
+                skipFully(length);
+                rowIndex += count;
+                continue;
+            }
+
+            if (block.length < count)
+            {
+                block = new byte[count];
+            }
+
+            if (payload.length < length)
+            {
+                payload = new byte[length];
+            }
+
+            in.readFully(payload, 0, length);
+
+            if (encoding == CountryCodeColumnWriter.ENCODING_PACKED)
+            {
+                decodePacked(count, k, length);
+            }
+            else if (encoding == CountryCodeColumnWriter.ENCODING_RLE)
+            {
+                decodeRuns(count, k, length);
+            }
+            else
+            {
+                throw new IOException("Unknown block encoding: " + encoding);
+            }
+
+            blockRows = count;
+
+            return true;
+        }
+
+        return false;
+    }
+
+
+    private void decodePacked(int count, int k, int length) throws IOException
+    {
+        int bits = (length == 0) ? -1 : payload[0];
+
+        if (bits != CountryCodeColumnWriter.bitWidth(k) || length < 1 + (((long)count * bits + 7) >>> 3))
+        {
+            throw new IOException("Malformed packed block.");
+        }
+
+        if (bits == 0)
+        {
+            Arrays.fill(block, 0, count, palette[0]);
+            return;
+        }
+
+        int mask = (1 << bits) - 1;
+        long buffer = 0;
+        int filled = 0;
+        int p = 1;
+
+        for (int i = 0; i < count; ++i)
+        {
+            while (filled < bits)
+            {
+                buffer |= (long)(payload[p++] & 0xFF) << filled;
+                filled += 8;
+            }
+
+            int index = (int)buffer & mask;
+
+            if (index >= k)
+            {
+                throw new IOException("Malformed palette index: " + index);
+            }
+
+            block[i] = palette[index];
+            buffer >>>= bits;
+            filled -= bits;
+        }
+    }
+
+
+    private void decodeRuns(int count, int k, int length) throws IOException
+    {
+        int i = 0;
+        int p = 0;
+
+        while (p < length)
+        {
+            int index = payload[p++] & 0xFF;
+            int n = 0;
+
+            for (int shift = 0; ; shift += 7)
+            {
+                if (p == length || shift > 28)
+                {
+                    throw new IOException("Malformed run length.");
+                }
+
+                int b = payload[p++];
+
+                n |= (b & 0x7F) << shift;
+
+                if (b >= 0)
+                {
+                    break;
+                }
+            }
+
+            // A fifth varint byte may set the sign bit; runs are never empty.
+            if (index >= k || n <= 0 || n > count - i)
+            {
+                throw new IOException("Malformed run.");
+            }
+
+            Arrays.fill(block, i, i + n, palette[index]);
+            i += n;
+        }
+
+        if (i != count)
+        {
+            throw new IOException("Malformed run-length block.");
+        }
+    }
+
+
+    private void skipFully(int n) throws IOException
+    {
+        while (n > 0)
+        {
+            int skipped = in.skipBytes(n);
+
+            if (skipped <= 0)
+            {
+                throw new EOFException();
+            }
+
+            n -= skipped;
+        }
+    }
+}
@@ -0,0 +1,426 @@
+/*
+ * Copyright (C) 2012 Neo Visionaries Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+
+
+/**
+ * Writer of dictionary-encoded, bit-packed {@link CountryCode} columns.
+ * Read them back with {@link CountryCodeColumnReader}.
+ *
+ * <p>
+ * <b>Format</b> (all integers big-endian)
+ * </p>
+ *
+ * <pre>
+ * header   = magic "CCOL" (4 bytes), version (1 byte),
+ *            dictionary size N (2 bytes), N alpha-2 codes (2 ASCII bytes each)
+ * block    = row count R (4 bytes, &gt; 0),
+ *            palette size K (1 byte), K dictionary ids (1 byte each),
+ *            encoding (1 byte), payload length (4 bytes), payload
+ * trailer  = row count 0 (4 bytes)
+ * </pre>
+ *
+ * <p>
+ * A dictionary id is 1 + the index of an alpha-2 code in the header; id 0
+ * is null. Because values are stored by alpha-2 code, a column stays
+ * readable after constants are added to or removed from CountryCode.
+ * </p>
+ *
+ * <p>
+ * Each block stores the distinct dictionary ids it contains (its palette)
+ * and then each row as an index into the palette. Skewed data therefore
+ * packs into fewer bits: a block with at most 16 distinct countries needs
+ * 4 bits per row, and a block of a single country needs none. When RLE is
+ * enabled, a block is stored as (palette index, run length) pairs instead
+ * if that is smaller. The palette also lets a reader skip blocks that
+ * contain no country of interest without decoding them.
+ * </p>
+ *
+ * <pre style="background-color: #EEEEEE; margin-left: 2em; margin-right: 2em; border: 1px solid black;">
+ * CountryCodeColumnWriter writer = new CountryCodeColumnWriter(out);
+ *
+ * for (Record r : records)
+ * {
+ *     writer.{@link #write(CountryCode) write}(r.country);
+ * }
+ *
+ * writer.{@link #close()};
+ * </pre>
+ */
+public class CountryCodeColumnWriter implements Closeable
+{
+    static final int MAGIC = ('C' << 24) | ('C' << 16) | ('O' << 8) | 'L';
+    static final int VERSION = 1;
+    static final int ENCODING_PACKED = 0;
+    static final int ENCODING_RLE = 1;
+
+    /**
+     * Default number of rows per block.
+     */
+    public static final int DEFAULT_BLOCK_SIZE = 4096;
+
+    /**
+     * Maximum number of rows per block.
+     */
+    public static final int MAX_BLOCK_SIZE = 1 << 20;
+
+
+    private final DataOutputStream out;
+    private final boolean rle;
+
+    /**
+     * Dictionary ids of the rows of the current block.
+     */
+    private final byte[] block;
+
+    /**
+     * Dictionary id to palette index + 1 for the current block.
+     */
+    private final int[] paletteIndex;
+
+    private final byte[] palette;
+    private byte[] payload;
+    private int rows;
+    private boolean closed;
+
+
+    /**
+     * Constructor with the default block size and RLE enabled.
+     *
+     * @param out
+     *         Output stream to write the column to.
+     *
+     * @throws IOException
+     *         Failed to write the header.
+     */
+    public CountryCodeColumnWriter(OutputStream out) throws IOException
+    {
+        this(out, DEFAULT_BLOCK_SIZE, true);
+    }
+
+
+    /**
+     * Constructor.
+     *
+     * @param out
+     *         Output stream to write the column to.
+     *
+     * @param blockSize
+     *         Number of rows per block.
+     *
+     * @param rle
+     *         true to store a block as runs when that is smaller
+     *         than bit-packing it.
+     *
+     * @throws IllegalArgumentException
+     *         out is null or blockSize is not in 1..{@link #MAX_BLOCK_SIZE}.
+     *
+     * @throws IOException
+     *         Failed to write the header.
+     */
+    public CountryCodeColumnWriter(OutputStream out, int blockSize, boolean rle) throws IOException
+    {
+        if (out == null)
+        {
+            throw new IllegalArgumentException("out is null.");
+        }
+
+        if (blockSize <= 0 || MAX_BLOCK_SIZE < blockSize)
+        {
+            throw new IllegalArgumentException("blockSize must be in 1.." + MAX_BLOCK_SIZE + ".");
+        }
+
+        CountryCode[] values = CountryCode.values();
+
+        this.out = new DataOutputStream(out);
+        this.rle = rle;
+        this.block = new byte[blockSize];
+        this.paletteIndex = new int[values.length + 1];
+        this.palette = new byte[values.length + 1];
+        this.payload = new byte[blockSize];
+
+        this.out.writeInt(MAGIC);
+        this.out.writeByte(VERSION);
+        this.out.writeShort(values.length);
+
+        for (CountryCode cc : values)
+        {
+            String alpha2 = cc.getAlpha2();
+
+            this.out.writeByte(alpha2.charAt(0));
+            this.out.writeByte(alpha2.charAt(1));
+        }
+    }
+
+
+    /**
+     * Write a value.
+     *
+     * @param cc
+     *         A country, or null.
+     *
+     * @throws IOException
+     *         Failed to write a completed block.
+     */
+    public void write(CountryCode cc) throws IOException
+    {
+        ensureOpen();
+
+        block[rows++] = (byte)(cc == null ? 0 : cc.ordinal() + 1);
+
+        if (rows == block.length)
+        {
+            writeBlock();
+        }
+    }
+
+
+    /**
+     * Write values.
+     *
+     * @param src
+     *         Countries, possibly containing nulls.
+     *
+     * @param off
+     *         Offset of the first value in src.
+     *
+     * @param len
+     *         Number of values to write.
+     *
+     * @throws IOException
+     *         Failed to write a completed block.
+     */
+    public void write(CountryCode[] src, int off, int len) throws IOException
+    {
+        ensureOpen();
+
+        for (int end = off + len; off < end; ++off)
+        {
+            CountryCode cc = src[off];
+
+            block[rows++] = (byte)(cc == null ? 0 : cc.ordinal() + 1);
+
+            if (rows == block.length)
+            {
+                writeBlock();
+            }
+        }
+    }
+
+
+    /**
+     * Write any buffered rows as a (possibly short) block and flush
+     * the underlying stream.
+     *
+     * @throws IOException
+     *         Failed to write.
+     */
+    public void flush() throws IOException
+    {
+        ensureOpen();
+
+        if (rows != 0)
+        {
+            writeBlock();
+        }
+
+        out.flush();
+    }
+
+
+    /**
+     * Write buffered rows and the trailer, and close the underlying
+     * stream. Calling this method more than once has no effect.
+     *
+     * @throws IOException
+     *         Failed to write or close.
+     */
+    public void close() throws IOException
+    {
+        if (closed)
+        {
+            return;
+        }
+
+        flush();
+
+        closed = true;
+
+        out.writeInt(0);
+        out.close();
+    }
+
+
+    private void ensureOpen() throws IOException
+    {
+        if (closed)
+        {
+            throw new IOException("The writer has been closed.");
+        }
+    }
+
+
+    private void writeBlock() throws IOException
+    {
+        int k = buildPalette();
+        int bits = bitWidth(k);
+        int packedLength = (int)(((long)rows * bits + 7) >>> 3);
+        int runs = rle ? countRuns() : Integer.MAX_VALUE;
+
+        // A run costs one palette index byte plus a varint
+        // length, which is at least one byte.
+        boolean useRle = rle && (long)runs * 2 < 1 + packedLength;
+        int length = useRle ? encodeRuns(runs) : encodePacked(bits, packedLength);
+
+        out.writeInt(rows);
+        out.writeByte(k);
+        out.write(palette, 0, k);
+        out.writeByte(useRle ? ENCODING_RLE : ENCODING_PACKED);
+        out.writeInt(length);
+        out.write(payload, 0, length);
+
+        for (int i = 0; i < k; ++i)
+        {
+            paletteIndex[palette[i] & 0xFF] = 0;
+        }
+
+        rows = 0;
+    }
+
+
+    private int buildPalette()
+    {
+        int k = 0;
+
+        for (int i = 0; i < rows; ++i)
+        {
+            int id = block[i] & 0xFF;
+
+            if (paletteIndex[id] == 0)
+            {
+                palette[k] = (byte)id;
+                paletteIndex[id] = ++k;
+            }
+        }
+
+        return k;
+    }
+
+
+    private int countRuns()
+    {
+        int runs = 1;
+
+        for (int i = 1; i < rows; ++i)
+        {
+            if (block[i] != block[i - 1])
+            {
+                ++runs;
+            }
+        }
+
+        return runs;
+    }
+
+
+    private int encodePacked(int bits, int length)
+    {
+        ensurePayload(1 + length);
+
+        payload[0] = (byte)bits;
+
+        long buffer = 0;
+        int filled = 0;
+        int p = 1;
+
+        for (int i = 0; i < rows; ++i)
+        {
+            buffer |= (long)(paletteIndex[block[i] & 0xFF] - 1) << filled;
+            filled += bits;
+
+            while (filled >= 8)
+            {
+                payload[p++] = (byte)buffer;
+                buffer >>>= 8;
+                filled -= 8;
+            }
+        }
+
+        if (filled > 0)
+        {
+            payload[p++] = (byte)buffer;
+        }
+
+        return p;
+    }
+
+
+    private int encodeRuns(int runs)
+    {
+        // 1 byte palette index + up to 5 bytes varint per run.
+        ensurePayload(runs * 6);
+
+        int p = 0;
+
+        for (int i = 0; i < rows; )
+        {
+            byte id = block[i];
+            int start = i;
+
+            while (++i < rows && block[i] == id)
+            {
+            }
+
+            payload[p++] = (byte)(paletteIndex[id & 0xFF] - 1);
+
+            for (int n = i - start; ; n >>>= 7)
+            {
+                if ((n & ~0x7F) == 0)
+                {
+                    payload[p++] = (byte)n;
+                    break;
+                }
+
+                payload[p++] = (byte)((n & 0x7F) | 0x80);
+            }
+        }
+
+        return p;
+    }
+
+
+    private void ensurePayload(int size)
+    {
+        if (payload.length < size)
+        {
+            payload = new byte[size];
+        }
+    }
+
+
+    /**
+     * Number of bits needed to hold a palette index 0..k-1.
+     */
+    static int bitWidth(int k)
+    {
+        return (k <= 1) ? 0 : 32 - Integer.numberOfLeadingZeros(k - 1);
+    }
+}
@@ -0,0 +1,253 @@
+/*
+ * Copyright (C) 2012 Neo Visionaries Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+/**
+ * Batch decoder of country code columns into {@link CountryCode} ordinals.
+ *
+ * <p>
+ * A column is a contiguous run of fixed-width ASCII codes (2 bytes per
+ * alpha-2 code or 3 bytes per alpha-3 code) with no separators. Codes
+ * are matched case-insensitively, so "jp", "Jp" and "JP" all decode
+ * to the ordinal of {@link CountryCode#JP}.
+ * </p>
+ *
+ * <p>
+ * {@link #getInstance()} returns a SIMD implementation based on the
+ * {@code jdk.incubator.vector} module when it is available (see
+ * {@code src-vector}) and a scalar implementation otherwise.
+ * </p>
+ *
+ * <pre style="background-color: #EEEEEE; margin-left: 2em; margin-right: 2em; border: 1px solid black;">
+ * byte[] column = "JPusGb".getBytes("US-ASCII");
+ * int[] ordinals = new int[3];
+ *
+ * CountryCodeDecoder.{@link #getInstance()}.{@link #decodeAlpha2(byte[], int, int[], int, int) decodeAlpha2}(column, 0, ordinals, 0, 3);
+ *
+ * CountryCode cc = CountryCode.values()[ordinals[1]];  <span style="color: darkgreen;">// US</span>
+ * </pre>
+ */
+public abstract class CountryCodeDecoder
+{
+    private static final String VECTOR_DECODER_CLASS = "VectorCountryCodeDecoder";
+
+    private static final CountryCodeDecoder scalarInstance = new ScalarDecoder();
+    private static final CountryCodeDecoder instance = createInstance();
+
+
+    protected CountryCodeDecoder()
+    {
+    }
+
+
+    private static CountryCodeDecoder createInstance()
+    {
+        try
+        {
+            return (CountryCodeDecoder)Class.forName(VECTOR_DECODER_CLASS).getDeclaredConstructor().newInstance();
+        }
+        catch (Exception e)
+        {
+            // The vector decoder is not on the class path.
+            return scalarInstance;
+        }
+        catch (LinkageError e)
+        {
+            // The jdk.incubator.vector module is not resolved.
+            return scalarInstance;
+        }
+    }
+
+
+    /**
+     * Get the best available decoder.
+     *
+     * @return
+     *         The SIMD decoder if available, otherwise the scalar decoder.
+     */
+    public static CountryCodeDecoder getInstance()
+    {
+        return instance;
+    }
+
+
+    /**
+     * Get the scalar decoder.
+     *
+     * @return
+     *         The scalar decoder.
+     */
+    public static CountryCodeDecoder getScalarInstance()
+    {
+        return scalarInstance;
+    }
+
+
+    /**
+     * Decode a column of alpha-2 codes.
+     *
+     * @param src
+     *         Source bytes.
+     *
+     * @param srcOff
+     *         Offset of the first code in src.
+     *
+     * @param dst
+     *         Destination of ordinals. Codes that are invalid or not
+     *         assigned are stored as -1.
+     *
+     * @param dstOff
+     *         Offset of the first ordinal in dst.
+     *
+     * @param count
+     *         Number of codes.
+     *
+     * @return
+     *         The number of codes stored as -1.
+     */
+    public abstract int decodeAlpha2(byte[] src, int srcOff, int[] dst, int dstOff, int count);
+
+
+    /**
+     * Decode a column of alpha-3 codes.
+     *
+     * @param src
+     *         Source bytes.
+     *
+     * @param srcOff
+     *         Offset of the first code in src.
+     *
+     * @param dst
+     *         Destination of ordinals. Codes that are invalid or not
+     *         assigned are stored as -1.
+     *
+     * @param dstOff
+     *         Offset of the first ordinal in dst.
+     *
+     * @param count
+     *         Number of codes.
+     *
+     * @return
+     *         The number of codes stored as -1.
+     */
+    public abstract int decodeAlpha3(byte[] src, int srcOff, int[] dst, int dstOff, int count);
+
+
+    /**
+     * Decode alpha-2 codes one at a time. Implementations use this
+     * for the tail of a column that does not fill a whole vector.
+     */
+    protected static int decodeAlpha2Scalar(byte[] src, int srcOff, int[] dst, int dstOff, int count)
+    {
+        int missing = 0;
+
+        for (int i = 0; i < count; ++i, srcOff += 2)
+        {
+            int c0 = letter(src[srcOff]);
+            int c1 = letter(src[srcOff + 1]);
+            int ordinal = ((c0 | c1) < 0) ? -1 : PackedCountryCode.ordinalOfAlpha2((c0 << 5) | c1);
+
+            if (ordinal < 0)
+            {
+                ++missing;
+            }
+
+            dst[dstOff + i] = ordinal;
+        }
+
+        return missing;
+    }
+
+
+    /**
+     * Decode alpha-3 codes one at a time. Implementations use this
+     * for the tail of a column that does not fill a whole vector.
+     */
+    protected static int decodeAlpha3Scalar(byte[] src, int srcOff, int[] dst, int dstOff, int count)
+    {
+        int missing = 0;
+
+        for (int i = 0; i < count; ++i, srcOff += 3)
+        {
+            int c0 = letter(src[srcOff]);
+            int c1 = letter(src[srcOff + 1]);
+            int c2 = letter(src[srcOff + 2]);
+            int ordinal = ((c0 | c1 | c2) < 0) ? -1 : PackedCountryCode.ordinalOfAlpha3((c0 << 10) | (c1 << 5) | c2);
+
+            if (ordinal < 0)
+            {
+                ++missing;
+            }
+
+            dst[dstOff + i] = ordinal;
+        }
+
+        return missing;
+    }
+
+
+    /**
+     * Look up the ordinal for a packed alpha-2 code computed by a
+     * subclass. A packed value of 0 yields -1.
+     */
+    protected static int ordinalOfPackedAlpha2(int packed)
+    {
+        return PackedCountryCode.ordinalOfAlpha2(packed);
+    }
+
+
+    /**
+     * Look up the ordinal for a packed alpha-3 code computed by a
+     * subclass. A packed value of 0 yields -1.
+     */
+    protected static int ordinalOfPackedAlpha3(int packed)
+    {
+        return PackedCountryCode.ordinalOfAlpha3(packed);
+    }
+
+
+    /**
+     * Convert an ASCII letter of either case to 1..26.
+     *
+     * @return
+     *         1..26, or a negative value if b is not a letter.
+     */
+    private static int letter(byte b)
+    {
+        // Clearing bit 5 folds 'a'..'z' onto 'A'..'Z' and maps
+        // every other byte to a non-letter.
+        int c = b & 0xDF;
+
+        return ('A' <= c && c <= 'Z') ? c - '@' : -1;
+    }
+
+
+    private static final class ScalarDecoder extends CountryCodeDecoder
+    {
+        @Override
+        public int decodeAlpha2(byte[] src, int srcOff, int[] dst, int dstOff, int count)
+        {
+            return decodeAlpha2Scalar(src, srcOff, dst, dstOff, count);
+        }
+
+
+        @Override
+        public int decodeAlpha3(byte[] src, int srcOff, int[] dst, int dstOff, int count)
+        {
+            return decodeAlpha3Scalar(src, srcOff, dst, dstOff, count);
+        }
+    }
+}
@@ -0,0 +1,812 @@
+/*
+ * Copyright (C) 2012 Neo Visionaries Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.AbstractExecutorService;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.LockSupport;
+
+
+/**
+ * Executor that schedules tasks fairly across countries.
+ *
+ * <p>
+ * Every country has its own lock-free queue, indexed by {@link
+ * CountryCode#ordinal()}; tasks without a country share one more. Queues
+ * are served by deficit round robin on execution time: each round, a
+ * country may run tasks for up to its {@link #setWeight(CountryCode, int)
+ * weight} times {@link #QUANTUM_NANOS}, and a country that overran pays
+ * it back in later rounds. A few countries with many or long tasks
+ * therefore cannot starve the rest.
+ * </p>
+ *
+ * <p>
+ * Countries are divided among the worker threads, so a queue is normally
+ * drained by one worker only. A worker that has nothing of its own to
+ * run steals tasks from other workers' countries, preferring the one with
+ * the most credit left. The time a stolen task takes is charged to its
+ * country all the same, so weights hold for stolen tasks too.
+ * </p>
+ *
+ * <p>
+ * Queue depth, completed tasks and the time tasks waited in their queue
+ * are recorded per country.
+ * </p>
+ *
+ * <pre style="background-color: #EEEEEE; margin-left: 2em; margin-right: 2em; border: 1px solid black;">
+ * CountryCodeExecutor executor = new CountryCodeExecutor(8);
+ *
+ * executor.{@link #setWeight(CountryCode, int) setWeight}(CountryCode.US, 4);
+ * executor.{@link #execute(CountryCode, Runnable) execute}(job.getCountryCode(), job);
+ *
+ * executor.{@link #getQueueDepth(CountryCode) getQueueDepth}(CountryCode.US);
+ * executor.{@link #getWaitPercentile(CountryCode, double) getWaitPercentile}(CountryCode.US, 0.99);
+ * </pre>
+ */
+public final class CountryCodeExecutor extends AbstractExecutorService
+{
+    /**
+     * Execution time a country of weight 1 gets per round.
+     */
+    public static final long QUANTUM_NANOS = 100000;
+
+    private static final int QUEUES = CountryCode.values().length + 1;
+    private static final int NULL_INDEX = QUEUES - 1;
+
+    /**
+     * Number of log2 buckets of the wait time histogram.
+     */
+    private static final int HISTOGRAM = 64;
+
+    private static final int RUNNING = 0;
+    private static final int SHUTDOWN = 1;
+    private static final int STOP = 2;
+
+
+    private final ConcurrentLinkedQueue<Entry>[] queues;
+    private final AtomicIntegerArray depths = new AtomicIntegerArray(QUEUES);
+    private final AtomicIntegerArray weights = new AtomicIntegerArray(QUEUES);
+
+    /**
+     * Deficit of each queue, in nanoseconds. The owner adds credit every
+     * round; the owner and thieves subtract the time its tasks take.
+     */
+    private final AtomicLongArray deficits = new AtomicLongArray(QUEUES);
+    private final AtomicLongArray completed = new AtomicLongArray(QUEUES);
+    private final AtomicLongArray waitNanos = new AtomicLongArray(QUEUES);
+    private final AtomicLongArray waitHistogram = new AtomicLongArray(QUEUES * HISTOGRAM);
+
+    /**
+     * Tasks queued and not yet taken by a worker.
+     */
+    private final AtomicInteger pending = new AtomicInteger();
+    private final Worker[] workers;
+    private final CountDownLatch terminated;
+    private volatile int state = RUNNING;
+
+
+    /**
+     * Constructor with threads from {@link Executors#defaultThreadFactory()}.
+     *
+     * @param threads
+     *         The number of worker threads.
+     */
+    public CountryCodeExecutor(int threads)
+    {
+        this(threads, Executors.defaultThreadFactory());
+    }
+
+
+    /**
+     * Constructor.
+     *
+     * @param threads
+     *         The number of worker threads.
+     *
+     * @param factory
+     *         Factory of the worker threads, e.g. one that creates
+     *         virtual threads on a runtime that has them.
+     *
+     * @throws IllegalArgumentException
+     *         threads is not positive.
+     *
+     * @throws NullPointerException
+     *         factory returned null.
+     */
+    @SuppressWarnings("unchecked")
+    public CountryCodeExecutor(int threads, ThreadFactory factory)
+    {
+        if (threads <= 0)
+        {
+            throw new IllegalArgumentException("threads must be positive: " + threads);
+        }
+
+        queues = (ConcurrentLinkedQueue<Entry>[])new ConcurrentLinkedQueue<?>[QUEUES];
+
+        for (int i = 0; i < QUEUES; ++i)
+        {
+            queues[i] = new ConcurrentLinkedQueue<Entry>();
+            weights.set(i, 1);
+        }
+
+        workers = new Worker[threads];
+        terminated = new CountDownLatch(threads);
+
+        for (int w = 0; w < threads; ++w)
+        {
+            workers[w] = new Worker(w, threads);
+        }
+
+        // Create every thread before starting any, so that a failing
+        // factory leaves no thread behind.
+        for (int w = 0; w < threads; ++w)
+        {
+            workers[w].thread = factory.newThread(workers[w]);
+
+            if (workers[w].thread == null)
+            {
+                throw new NullPointerException("factory returned null.");
+            }
+        }
+
+        int started = 0;
+
+        try
+        {
+            for (; started < threads; ++started)
+            {
+                workers[started].thread.start();
+            }
+        }
+        catch (RuntimeException e)
+        {
+            stopStarted(started);
+            throw e;
+        }
+        catch (Error e)
+        {
+            stopStarted(started);
+            throw e;
+        }
+    }
+
+
+    /**
+     * Stop the workers started before the constructor failed.
+     */
+    private void stopStarted(int started)
+    {
+        state = STOP;
+
+        for (int w = 0; w < started; ++w)
+        {
+            LockSupport.unpark(workers[w].thread);
+        }
+    }
+
+
+    /**
+     * Set the weight of a country: its share of execution time relative
+     * to other countries with queued tasks. The default is 1.
+     *
+     * @param cc
+     *         A country, or null for tasks without a country.
+     *
+     * @param weight
+     *         A positive weight.
+     *
+     * @throws IllegalArgumentException
+     *         weight is not positive.
+     */
+    public void setWeight(CountryCode cc, int weight)
+    {
+        if (weight <= 0)
+        {
+            throw new IllegalArgumentException("weight must be positive: " + weight);
+        }
+
+        weights.set(indexOf(cc), weight);
+    }
+
+
+    /**
+     * Get the weight of a country.
+     *
+     * @param cc
+     *         A country, or null for tasks without a country.
+     *
+     * @return
+     *         The weight.
+     */
+    public int getWeight(CountryCode cc)
+    {
+        return weights.get(indexOf(cc));
+    }
+
+
+    /**
+     * Execute a task without a country.
+     *
+     * @param task
+     *         A task.
+     *
+     * @throws RejectedExecutionException
+     *         This executor has been shut down.
+     */
+    public void execute(Runnable task)
+    {
+        execute(null, task);
+    }
+
+
+    /**
+     * Execute a task on behalf of a country.
+     *
+     * @param cc
+     *         A country, or null.
+     *
+     * @param task
+     *         A task.
+     *
+     * @throws RejectedExecutionException
+     *         This executor has been shut down.
+     */
+    public void execute(CountryCode cc, Runnable task)
+    {
+        if (task == null)
+        {
+            throw new NullPointerException("task is null.");
+        }
+
+        pending.incrementAndGet();
+
+        if (state != RUNNING)
+        {
+            pending.decrementAndGet();
+
+            throw new RejectedExecutionException("The executor has been shut down.");
+        }
+
+        int index = indexOf(cc);
+        Entry entry = new Entry(task, System.nanoTime());
+
+        depths.incrementAndGet(index);
+        queues[index].offer(entry);
+
+        // shutdownNow may have drained the queues between the check
+        // above and the offer. Take the task back unless it was drained.
+        if (state == STOP && queues[index].remove(entry))
+        {
+            depths.decrementAndGet(index);
+            pending.decrementAndGet();
+
+            throw new RejectedExecutionException("The executor has been shut down.");
+        }
+
+        signal(index % workers.length);
+    }
+
+
+    /**
+     * Submit a task on behalf of a country.
+     *
+     * @param cc
+     *         A country, or null.
+     *
+     * @param task
+     *         A task.
+     *
+     * @return
+     *         A future of the task's result.
+     *
+     * @throws RejectedExecutionException
+     *         This executor has been shut down.
+     */
+    public <T> Future<T> submit(CountryCode cc, Callable<T> task)
+    {
+        if (task == null)
+        {
+            throw new NullPointerException("task is null.");
+        }
+
+        FutureTask<T> future = new FutureTask<T>(task);
+
+        execute(cc, future);
+
+        return future;
+    }
+
+
+    /**
+     * Submit a task on behalf of a country.
+     *
+     * @param cc
+     *         A country, or null.
+     *
+     * @param task
+     *         A task.
+     *
+     * @return
+     *         A future that returns null on completion.
+     *
+     * @throws RejectedExecutionException
+     *         This executor has been shut down.
+     */
+    public Future<?> submit(CountryCode cc, Runnable task)
+    {
+        if (task == null)
+        {
+            throw new NullPointerException("task is null.");
+        }
+
+        FutureTask<Object> future = new FutureTask<Object>(task, null);
+
+        execute(cc, future);
+
+        return future;
+    }
+
+
+    /**
+     * Get the number of queued tasks of a country.
+     *
+     * @param cc
+     *         A country, or null for tasks without a country.
+     *
+     * @return
+     *         The number of tasks waiting to run.
+     */
+    public int getQueueDepth(CountryCode cc)
+    {
+        return depths.get(indexOf(cc));
+    }
+
+
+    /**
+     * Get the number of tasks of a country that have finished running.
+     *
+     * @param cc
+     *         A country, or null for tasks without a country.
+     *
+     * @return
+     *         The number of tasks taken from the queue and run to
+     *         completion, normally or by throwing.
+     */
+    public long getCompletedTaskCount(CountryCode cc)
+    {
+        return completed.get(indexOf(cc));
+    }
+
+
+    /**
+     * Get the total time completed tasks of a country waited in their
+     * queue.
+     *
+     * @param cc
+     *         A country, or null for tasks without a country.
+     *
+     * @return
+     *         The sum of the waits, in nanoseconds. Divide by {@link
+     *         #getCompletedTaskCount(CountryCode)} for the mean.
+     */
+    public long getTotalWaitNanos(CountryCode cc)
+    {
+        return waitNanos.get(indexOf(cc));
+    }
+
+
+    /**
+     * Get a percentile of the time completed tasks of a country waited
+     * in their queue. Waits are recorded in power-of-two buckets, so the result
+     * is an upper bound within a factor of two.
+     *
+     * @param cc
+     *         A country, or null for tasks without a country.
+     *
+     * @param percentile
+     *         0 to 1, e.g. 0.99.
+     *
+     * @return
+     *         The wait in nanoseconds, or 0 if no task has run.
+     */
+    public long getWaitPercentile(CountryCode cc, double percentile)
+    {
+        int base = indexOf(cc) * HISTOGRAM;
+        long total = 0;
+
+        for (int b = 0; b < HISTOGRAM; ++b)
+        {
+            total += waitHistogram.get(base + b);
+        }
+
+        long rank = (long)Math.ceil(percentile * total);
+
+        long seen = 0;
+
+        for (int b = 0; b < HISTOGRAM; ++b)
+        {
+            seen += waitHistogram.get(base + b);
+
+            if (seen >= rank && seen > 0)
+            {
+                return (b == 0) ? 0 : (b >= 63) ? Long.MAX_VALUE : (1L << b) - 1;
+            }
+        }
+
+        return 0;
+    }
+
+
+    public void shutdown()
+    {
+        if (state == RUNNING)
+        {
+            state = SHUTDOWN;
+        }
+
+        signalAll();
+    }
+
+
+    public List<Runnable> shutdownNow()
+    {
+        state = STOP;
+
+        List<Runnable> tasks = new ArrayList<Runnable>();
+
+        for (int i = 0; i < QUEUES; ++i)
+        {
+            for (Entry entry; (entry = poll(i)) != null; )
+            {
+                tasks.add(entry.task);
+            }
+        }
+
+        for (Worker worker : workers)
+        {
+            worker.thread.interrupt();
+        }
+
+        signalAll();
+
+        return tasks;
+    }
+
+
+    public boolean isShutdown()
+    {
+        return state != RUNNING;
+    }
+
+
+    public boolean isTerminated()
+    {
+        return terminated.getCount() == 0;
+    }
+
+
+    public boolean awaitTermination(long timeout, TimeUnit unit) throws InterruptedException
+    {
+        return terminated.await(timeout, unit);
+    }
+
+
+    private static int indexOf(CountryCode cc)
+    {
+        return (cc == null) ? NULL_INDEX : cc.ordinal();
+    }
+
+
+    /**
+     * Drop the unused credit of a queue. A concurrent charge by a thief
+     * wins over this.
+     */
+    private void clearCredit(int index)
+    {
+        long deficit = deficits.get(index);
+
+        if (deficit > 0)
+        {
+            deficits.compareAndSet(index, deficit, 0);
+        }
+    }
+
+
+    /**
+     * Run a task and charge the time it took to its queue.
+     */
+    private void runCharged(int index, Entry entry)
+    {
+        long start = System.nanoTime();
+
+        run(index, entry);
+
+        deficits.addAndGet(index, start - System.nanoTime());
+    }
+
+
+    private Entry poll(int index)
+    {
+        Entry entry = queues[index].poll();
+
+        if (entry != null)
+        {
+            depths.decrementAndGet(index);
+            pending.decrementAndGet();
+        }
+
+        return entry;
+    }
+
+
+    /**
+     * Wake the owner of a queue if it is parked, or else any parked
+     * worker, which will steal.
+     */
+    private void signal(int owner)
+    {
+        if (workers[owner].parked)
+        {
+            LockSupport.unpark(workers[owner].thread);
+            return;
+        }
+
+        for (Worker worker : workers)
+        {
+            if (worker.parked)
+            {
+                LockSupport.unpark(worker.thread);
+                return;
+            }
+        }
+    }
+
+
+    private void signalAll()
+    {
+        for (Worker worker : workers)
+        {
+            if (worker.thread != null)
+            {
+                LockSupport.unpark(worker.thread);
+            }
+        }
+    }
+
+
+    private void run(int index, Entry entry)
+    {
+        long wait = Math.max(0, System.nanoTime() - entry.enqueued);
+
+        try
+        {
+            entry.task.run();
+        }
+        catch (Throwable t)
+        {
+            Thread thread = Thread.currentThread();
+
+            thread.getUncaughtExceptionHandler().uncaughtException(thread, t);
+        }
+
+        // Recorded together, so that total wait / completed is the mean.
+        waitNanos.addAndGet(index, wait);
+        waitHistogram.incrementAndGet(index * HISTOGRAM + (64 - Long.numberOfLeadingZeros(wait)) % HISTOGRAM);
+        completed.incrementAndGet(index);
+
+        // Do not let an interrupt set by the task leak into the next
+        // task or make the worker's park return at once, unless it is
+        // the interrupt of shutdownNow.
+        if (state != STOP)
+        {
+            Thread.interrupted();
+        }
+    }
+
+
+    private static final class Entry
+    {
+        final Runnable task;
+        final long enqueued;
+
+
+        Entry(Runnable task, long enqueued)
+        {
+            this.task = task;
+            this.enqueued = enqueued;
+        }
+    }
+
+
+    private final class Worker implements Runnable
+    {
+        /**
+         * The queues this worker owns: index % threads == id.
+         */
+        private final int[] owned;
+
+        private final int id;
+        private int victim;
+        private Thread thread;
+        private volatile boolean parked;
+
+
+        Worker(int id, int threads)
+        {
+            this.id = id;
+            this.owned = new int[(QUEUES - id + threads - 1) / threads];
+            this.victim = id;
+
+            for (int k = 0; k < owned.length; ++k)
+            {
+                owned[k] = id + k * threads;
+            }
+        }
+
+
+        public void run()
+        {
+            try
+            {
+                while (state != STOP)
+                {
+                    if (round() || steal())
+                    {
+                        continue;
+                    }
+
+                    if (state != RUNNING && pending.get() == 0)
+                    {
+                        break;
+                    }
+
+                    // Publish parked before looking at the queues again,
+                    // so that a task offered concurrently is either seen
+                    // here or followed by an unpark.
+                    parked = true;
+
+                    if (pending.get() == 0 && state == RUNNING)
+                    {
+                        // A pending interrupt would make park return
+                        // at once, over and over.
+                        Thread.interrupted();
+                        LockSupport.park();
+                    }
+
+                    parked = false;
+                }
+            }
+            finally
+            {
+                terminated.countDown();
+            }
+        }
+
+
+        /**
+         * One round of deficit round robin over the owned queues.
+         *
+         * @return
+         *         true if a task ran.
+         */
+        private boolean round()
+        {
+            boolean ran = false;
+
+            for (int k = 0; k < owned.length; ++k)
+            {
+                int index = owned[k];
+
+                if (depths.get(index) == 0)
+                {
+                    // An idle queue does not bank credit.
+                    clearCredit(index);
+                    continue;
+                }
+
+                deficits.addAndGet(index, weights.get(index) * QUANTUM_NANOS);
+
+                while (deficits.get(index) > 0 && state != STOP)
+                {
+                    Entry entry = poll(index);
+
+                    if (entry == null)
+                    {
+                        clearCredit(index);
+                        break;
+                    }
+
+                    runCharged(index, entry);
+                    ran = true;
+                }
+            }
+
+            return ran;
+        }
+
+
+        /**
+         * Run one task from the non-empty queue of another worker that
+         * has the largest deficit, i.e. is furthest behind its share.
+         * Ties go round robin.
+         *
+         * @return
+         *         true if a task ran.
+         */
+        private boolean steal()
+        {
+            int threads = workers.length;
+
+            if (threads == 1)
+            {
+                return false;
+            }
+
+            int best = -1;
+            long bestDeficit = Long.MIN_VALUE;
+
+            for (int n = 0, i = victim; n < QUEUES; ++n)
+            {
+                i = (i + 1 == QUEUES) ? 0 : i + 1;
+
+                if (i % threads == id || depths.get(i) == 0)
+                {
+                    continue;
+                }
+
+                long deficit = deficits.get(i);
+
+                if (best < 0 || deficit > bestDeficit)
+                {
+                    best = i;
+                    bestDeficit = deficit;
+                }
+            }
+
+            if (best < 0)
+            {
+                return false;
+            }
+
+            victim = best;
+
+            Entry entry = poll(best);
+
+            if (entry == null)
+            {
+                // Taken by its owner meanwhile.
+                return false;
+            }
+
+            runCharged(best, entry);
+
+            return true;
+        }
+    }
+}
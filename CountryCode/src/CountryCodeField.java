@@ -0,0 +1,52 @@
+/*
+ * Copyright (C) 2012 Neo Visionaries Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+/**
+ * Textual forms of a {@link CountryCode} that can be written without
+ * allocation by {@link CountryCode#writeTo(java.nio.ByteBuffer, CountryCodeField)}
+ * and {@link CountryCode#appendTo(StringBuilder, CountryCodeField)}.
+ */
+public enum CountryCodeField
+{
+    /**
+     * The alpha-2 code, e.g. <code>JP</code>.
+     */
+    ALPHA2,
+
+    /**
+     * The alpha-3 code, e.g. <code>JPN</code>.
+     */
+    ALPHA3,
+
+    /**
+     * The numeric code zero-padded to three digits, e.g. <code>004</code>.
+     */
+    NUMERIC,
+
+    /**
+     * The country name, e.g. <code>Japan</code>.
+     */
+    NAME,
+
+    /**
+     * The country name as a JSON string literal, including the enclosing
+     * double quotes, e.g. <code>"Japan"</code>. Non-ASCII
+     * characters are written as <code>\</code><code>uXXXX</code> escapes, so the
+     * UTF-8 form is plain ASCII.
+     */
+    JSON_NAME
+}
@@ -0,0 +1,1293 @@
+/*
+ * Copyright (C) 2012 Neo Visionaries Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+import java.io.BufferedReader;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+
+/**
+ * Offline reverse geocoder: finds the country at a latitude and longitude.
+ *
+ * <p>
+ * Country boundaries are loaded from a GeoJSON file whose features carry
+ * the alpha-2 or alpha-3 code of their country in a property (e.g.
+ * <code>ISO_A2</code> of Natural Earth) or in their <code>id</code>.
+ * Shapefiles can be converted to GeoJSON with e.g. <code>ogr2ogr</code>.
+ * </p>
+ *
+ * <p>
+ * The world is divided into a uniform grid of cells. A cell that lies
+ * entirely inside one country, or entirely outside every country,
+ * answers a lookup by itself. Only cells crossed by a boundary keep a
+ * list of candidate polygons, which are then tested point-in-polygon.
+ * With the default cell size of {@link #DEFAULT_CELL_SIZE} degrees most
+ * points never reach a polygon test.
+ * </p>
+ *
+ * <p>
+ * Building the grid takes a while for detailed boundaries, so the
+ * compiled geocoder can be written with {@link #writeTo(OutputStream)}
+ * and read back with {@link #readFrom(InputStream)}.
+ * </p>
+ *
+ * <pre style="background-color: #EEEEEE; margin-left: 2em; margin-right: 2em; border: 1px solid black;">
+ * CountryCodeGeocoder geocoder = CountryCodeGeocoder.{@link #fromGeoJson(Reader)
+ * fromGeoJson}(new InputStreamReader(new FileInputStream("countries.geojson"), "UTF-8"));
+ *
+ * geocoder.{@link #getCountryCode(double, double) getCountryCode}(35.68, 139.77);  <span style="color: darkgreen;">// JP</span>
+ * geocoder.{@link #getCountryCode(double, double) getCountryCode}(0, -30);         <span style="color: darkgreen;">// null (ocean)</span>
+ * </pre>
+ */
+public final class CountryCodeGeocoder
+{
+    /**
+     * The default edge length of a grid cell, in degrees.
+     */
+    public static final double DEFAULT_CELL_SIZE = 0.5;
+
+    /**
+     * Feature properties probed for the country code when none are
+     * given, in order.
+     */
+    private static final String[] DEFAULT_PROPERTIES = {
+        "ISO_A2", "iso_a2", "ISO_A2_EH", "ISO_A3", "iso_a3", "ISO_A3_EH", "ADM0_A3", "alpha2", "alpha3"
+    };
+
+    private static final int MAGIC = ('C' << 24) | ('G' << 16) | ('E' << 8) | 'O';
+    private static final int VERSION = 1;
+
+    /**
+     * Largest number of grid cells, as the grid is one int array.
+     */
+    private static final int MAX_CELLS = Integer.MAX_VALUE - 8;
+
+
+    private final double cellSize;
+    private final int columns;
+    private final int rows;
+
+    /**
+     * Per cell: 0 if no country, polygon + 1 if the cell lies inside
+     * that polygon, or -(start + 1) if candidates[start] is the number
+     * of candidate polygons that follow it.
+     */
+    private final int[] cells;
+    private final int[] candidates;
+
+    private final CountryCode[] polygonCountries;
+
+    /**
+     * Rings of each polygon (outer and holes), as x (longitude) and
+     * y (latitude) pairs.
+     */
+    private final double[][][] polygonRings;
+
+    /**
+     * min x, min y, max x, max y of each polygon.
+     */
+    private final double[] polygonBounds;
+
+
+    private CountryCodeGeocoder(double cellSize, int[] cells, int[] candidates, CountryCode[] polygonCountries, double[][][] polygonRings)
+    {
+        this.cellSize = cellSize;
+        this.columns = columnsFor(cellSize);
+        this.rows = rowsFor(cellSize);
+        this.cells = cells;
+        this.candidates = candidates;
+        this.polygonCountries = polygonCountries;
+        this.polygonRings = polygonRings;
+        this.polygonBounds = bounds(polygonRings);
+    }
+
+
+    /**
+     * Build a geocoder from GeoJSON with {@link #DEFAULT_CELL_SIZE} and
+     * the country code taken from one of the usual properties
+     * (<code>ISO_A2</code>, <code>ISO_A3</code>, <code>ADM0_A3</code>, ...)
+     * or the feature <code>id</code>.
+     *
+     * @param in
+     *         A GeoJSON FeatureCollection or Feature.
+     *
+     * @return
+     *         A geocoder.
+     *
+     * @throws IOException
+     *         Failed to read, or the input is not GeoJSON.
+     */
+    public static CountryCodeGeocoder fromGeoJson(Reader in) throws IOException
+    {
+        return fromGeoJson(in, DEFAULT_CELL_SIZE);
+    }
+
+
+    /**
+     * Build a geocoder from GeoJSON. Polygon and MultiPolygon geometries
+     * are used; features whose country cannot be resolved are skipped.
+     *
+     * @param in
+     *         A GeoJSON FeatureCollection or Feature.
+     *
+     * @param cellSize
+     *         Edge length of a grid cell, in degrees. Smaller cells
+     *         resolve more points without a polygon test but take
+     *         more memory: 360 * 180 / cellSize<sup>2</sup> ints.
+     *
+     * @param properties
+     *         Names of feature properties that may hold the alpha-2 or
+     *         alpha-3 code, probed in order. The feature <code>id</code>
+     *         is probed last. If none are given, the usual names are
+     *         probed.
+     *
+     * @return
+     *         A geocoder.
+     *
+     * @throws IOException
+     *         Failed to read, or the input is not GeoJSON.
+     *
+     * @throws IllegalArgumentException
+     *         cellSize is not in (0, 180], or is so small (below about
+     *         0.0056) that the grid would not fit in an array.
+     */
+    public static CountryCodeGeocoder fromGeoJson(Reader in, double cellSize, String... properties) throws IOException
+    {
+        checkCellSize(cellSize);
+
+        if (properties == null || properties.length == 0)
+        {
+            properties = DEFAULT_PROPERTIES;
+        }
+
+        Builder builder = new Builder(cellSize);
+
+        builder.addGeoJson(new JsonParser(in).parse(), properties);
+
+        return builder.build();
+    }
+
+
+    /**
+     * Get the edge length of a grid cell.
+     *
+     * @return
+     *         The cell size in degrees.
+     */
+    public double getCellSize()
+    {
+        return cellSize;
+    }
+
+
+    /**
+     * Get the country at a location.
+     *
+     * @param latitude
+     *         -90 to 90.
+     *
+     * @param longitude
+     *         Longitude. Values outside -180 to 180 wrap around.
+     *
+     * @return
+     *         The country, or null if the location is not in any
+     *         country, e.g. in the ocean.
+     *
+     * @throws IllegalArgumentException
+     *         latitude is not in [-90, 90], or longitude is NaN or
+     *         infinite.
+     */
+    public CountryCode getCountryCode(double latitude, double longitude)
+    {
+        if (!(-90 <= latitude && latitude <= 90))
+        {
+            throw new IllegalArgumentException("latitude must be in [-90, 90]: " + latitude);
+        }
+
+        if (Double.isNaN(longitude) || Double.isInfinite(longitude))
+        {
+            throw new IllegalArgumentException("longitude must be finite: " + longitude);
+        }
+
+        if (longitude < -180 || 180 < longitude)
+        {
+            longitude = wrap(longitude);
+        }
+
+        int cell = cells[rowOf(latitude) * columns + columnOf(longitude)];
+
+        if (cell >= 0)
+        {
+            return (cell == 0) ? null : polygonCountries[cell - 1];
+        }
+
+        int start = -cell - 1;
+        int end = start + 1 + candidates[start];
+
+        for (int i = start + 1; i < end; ++i)
+        {
+            int polygon = candidates[i];
+
+            if (contains(polygon, longitude, latitude))
+            {
+                return polygonCountries[polygon];
+            }
+        }
+
+        return null;
+    }
+
+
+    /**
+     * Write this geocoder in a compact binary form that {@link
+     * #readFrom(InputStream)} loads without rebuilding the grid.
+     *
+     * @param out
+     *         Output stream. Not closed.
+     *
+     * @throws IOException
+     *         Failed to write.
+     */
+    public void writeTo(OutputStream out) throws IOException
+    {
+        DataOutputStream dout = new DataOutputStream(out);
+
+        dout.writeInt(MAGIC);
+        dout.writeByte(VERSION);
+        dout.writeDouble(cellSize);
+        dout.writeInt(polygonCountries.length);
+
+        for (int p = 0; p < polygonCountries.length; ++p)
+        {
+            String alpha2 = polygonCountries[p].getAlpha2();
+
+            dout.writeByte(alpha2.charAt(0));
+            dout.writeByte(alpha2.charAt(1));
+            dout.writeInt(polygonRings[p].length);
+
+            for (double[] ring : polygonRings[p])
+            {
+                dout.writeInt(ring.length);
+
+                for (double coordinate : ring)
+                {
+                    dout.writeDouble(coordinate);
+                }
+            }
+        }
+
+        // Cells are mostly long runs of the same value (ocean, large
+        // countries), so they are run-length encoded.
+        for (int i = 0; i < cells.length; )
+        {
+            int value = cells[i];
+            int run = 1;
+
+            while (i + run < cells.length && cells[i + run] == value)
+            {
+                ++run;
+            }
+
+            dout.writeInt(run);
+            dout.writeInt(value);
+            i += run;
+        }
+
+        dout.writeInt(candidates.length);
+
+        for (int candidate : candidates)
+        {
+            dout.writeInt(candidate);
+        }
+
+        dout.flush();
+    }
+
+
+    /**
+     * Read a geocoder written by {@link #writeTo(OutputStream)}.
+     *
+     * @param in
+     *         Input stream. Not closed.
+     *
+     * @return
+     *         A geocoder.
+     *
+     * @throws IOException
+     *         Failed to read, or the data is malformed.
+     */
+    public static CountryCodeGeocoder readFrom(InputStream in) throws IOException
+    {
+        DataInputStream din = new DataInputStream(in);
+
+        if (din.readInt() != MAGIC)
+        {
+            throw new IOException("Not a country code geocoder.");
+        }
+
+        int version = din.readUnsignedByte();
+
+        if (version != VERSION)
+        {
+            throw new IOException("Unsupported country code geocoder version: " + version);
+        }
+
+        double cellSize = din.readDouble();
+
+        if (isValidCellSize(cellSize) == false)
+        {
+            throw new IOException("Malformed cell size: " + cellSize);
+        }
+
+        int polygons = readCount(din, "polygon count");
+        CountryCode[] polygonCountries = new CountryCode[polygons];
+        double[][][] polygonRings = new double[polygons][][];
+
+        for (int p = 0; p < polygons; ++p)
+        {
+            String alpha2 = new String(new char[] { (char)din.readUnsignedByte(), (char)din.readUnsignedByte() });
+
+            polygonCountries[p] = CountryCode.getByCode(alpha2);
+
+            if (polygonCountries[p] == null)
+            {
+                throw new IOException("Unknown country code: " + alpha2);
+            }
+
+            polygonRings[p] = new double[readCount(din, "ring count")][];
+
+            for (int r = 0; r < polygonRings[p].length; ++r)
+            {
+                int length = readCount(din, "ring length");
+
+                if ((length & 1) != 0 || (r == 0 && length < 6))
+                {
+                    throw new IOException("Malformed ring length: " + length);
+                }
+
+                double[] ring = new double[length];
+
+                for (int i = 0; i < ring.length; ++i)
+                {
+                    ring[i] = din.readDouble();
+                }
+
+                polygonRings[p][r] = ring;
+            }
+        }
+
+        int[] cells = new int[columnsFor(cellSize) * rowsFor(cellSize)];
+
+        for (int i = 0; i < cells.length; )
+        {
+            int run = din.readInt();
+            int value = din.readInt();
+
+            if (run <= 0 || cells.length - i < run || polygons < value)
+            {
+                throw new IOException("Malformed cells.");
+            }
+
+            Arrays.fill(cells, i, i + run, value);
+            i += run;
+        }
+
+        int[] candidates = new int[readCount(din, "candidate count")];
+
+        for (int i = 0; i < candidates.length; ++i)
+        {
+            candidates[i] = din.readInt();
+        }
+
+        checkCandidates(cells, candidates, polygons);
+
+        return new CountryCodeGeocoder(cellSize, cells, candidates, polygonCountries, polygonRings);
+    }
+
+
+    private static int readCount(DataInputStream din, String what) throws IOException
+    {
+        int count = din.readInt();
+
+        if (count < 0)
+        {
+            throw new IOException("Malformed " + what + ": " + count);
+        }
+
+        return count;
+    }
+
+
+    /**
+     * Check that candidates is a sequence of lists (count, then that
+     * many polygons) and that every cell referring to a list refers to
+     * the start of one.
+     */
+    private static void checkCandidates(int[] cells, int[] candidates, int polygons) throws IOException
+    {
+        boolean[] starts = new boolean[candidates.length];
+
+        for (int i = 0; i < candidates.length; )
+        {
+            int count = candidates[i];
+
+            if (count <= 0 || candidates.length - i - 1 < count)
+            {
+                throw new IOException("Malformed candidates.");
+            }
+
+            starts[i] = true;
+
+            for (int end = i + 1 + count, k = i + 1; k < end; ++k)
+            {
+                if (candidates[k] < 0 || polygons <= candidates[k])
+                {
+                    throw new IOException("Malformed candidate polygon: " + candidates[k]);
+                }
+            }
+
+            i += 1 + count;
+        }
+
+        for (int cell : cells)
+        {
+            if (cell < 0 && (candidates.length <= -(cell + 1) || starts[-(cell + 1)] == false))
+            {
+                throw new IOException("Malformed cell reference: " + cell);
+            }
+        }
+    }
+
+
+    private int columnOf(double longitude)
+    {
+        return Math.min(columns - 1, (int)((longitude + 180) / cellSize));
+    }
+
+
+    private int rowOf(double latitude)
+    {
+        return Math.min(rows - 1, (int)((latitude + 90) / cellSize));
+    }
+
+
+    private boolean contains(int polygon, double x, double y)
+    {
+        int b = polygon * 4;
+
+        if (x < polygonBounds[b] || y < polygonBounds[b + 1] || polygonBounds[b + 2] < x || polygonBounds[b + 3] < y)
+        {
+            return false;
+        }
+
+        boolean inside = false;
+
+        for (double[] ring : polygonRings[polygon])
+        {
+            inside ^= ringContains(ring, x, y);
+        }
+
+        return inside;
+    }
+
+
+    /**
+     * Even-odd ray casting. Of the two polygons sharing an edge, a point on
+     * it belongs to exactly one.
+     */
+    private static boolean ringContains(double[] ring, double x, double y)
+    {
+        boolean inside = false;
+
+        for (int i = 0, j = ring.length - 2; i < ring.length; j = i, i += 2)
+        {
+            double xi = ring[i], yi = ring[i + 1];
+            double xj = ring[j], yj = ring[j + 1];
+
+            if ((yi <= y) != (yj <= y) && x < xi + (y - yi) * (xj - xi) / (yj - yi))
+            {
+                inside = !inside;
+            }
+        }
+
+        return inside;
+    }
+
+
+    private static double wrap(double longitude)
+    {
+        double wrapped = (longitude + 180) % 360;
+
+        return (wrapped < 0 ? wrapped + 360 : wrapped) - 180;
+    }
+
+
+    private static int columnsFor(double cellSize)
+    {
+        return (int)Math.ceil(360 / cellSize);
+    }
+
+
+    private static int rowsFor(double cellSize)
+    {
+        return (int)Math.ceil(180 / cellSize);
+    }
+
+
+    private static boolean isValidCellSize(double cellSize)
+    {
+        if (!(0 < cellSize && cellSize <= 180))
+        {
+            return false;
+        }
+
+        // Both factors are at most Integer.MAX_VALUE, so the product
+        // cannot overflow a long.
+        return (long)columnsFor(cellSize) * rowsFor(cellSize) <= MAX_CELLS;
+    }
+
+
+    private static void checkCellSize(double cellSize)
+    {
+        if (isValidCellSize(cellSize) == false)
+        {
+            throw new IllegalArgumentException("cellSize must be in (0, 180] and give at most "
+                    + MAX_CELLS + " cells: " + cellSize);
+        }
+    }
+
+
+    private static double[] bounds(double[][][] polygonRings)
+    {
+        double[] bounds = new double[polygonRings.length * 4];
+
+        for (int p = 0; p < polygonRings.length; ++p)
+        {
+            double minX = Double.POSITIVE_INFINITY, minY = Double.POSITIVE_INFINITY;
+            double maxX = Double.NEGATIVE_INFINITY, maxY = Double.NEGATIVE_INFINITY;
+
+            for (double[] ring : polygonRings[p])
+            {
+                for (int i = 0; i < ring.length; i += 2)
+                {
+                    minX = Math.min(minX, ring[i]);
+                    minY = Math.min(minY, ring[i + 1]);
+                    maxX = Math.max(maxX, ring[i]);
+                    maxY = Math.max(maxY, ring[i + 1]);
+                }
+            }
+
+            bounds[p * 4] = minX;
+            bounds[p * 4 + 1] = minY;
+            bounds[p * 4 + 2] = maxX;
+            bounds[p * 4 + 3] = maxY;
+        }
+
+        return bounds;
+    }
+
+
+    /**
+     * Collects polygons and classifies every grid cell.
+     */
+    private static final class Builder
+    {
+        private final double cellSize;
+        private final int columns;
+        private final int rows;
+        private final List<CountryCode> countries = new ArrayList<CountryCode>();
+        private final List<double[][]> rings = new ArrayList<double[][]>();
+
+        /**
+         * Per cell: polygon + 1 of the polygon the cell lies inside,
+         * 0 if none.
+         */
+        private int[] interior;
+
+        /**
+         * Per cell: the polygons that may contain part of the cell,
+         * with the number of them in border[cell][0], or null.
+         */
+        private int[][] border;
+
+
+        Builder(double cellSize)
+        {
+            this.cellSize = cellSize;
+            this.columns = columnsFor(cellSize);
+            this.rows = rowsFor(cellSize);
+        }
+
+
+        void addGeoJson(Object json, String[] properties) throws IOException
+        {
+            Map<String, Object> object = asObject(json);
+            Object type = object.get("type");
+
+            if ("FeatureCollection".equals(type))
+            {
+                for (Object feature : asArray(object.get("features")))
+                {
+                    addFeature(asObject(feature), properties);
+                }
+            }
+            else if ("Feature".equals(type))
+            {
+                addFeature(object, properties);
+            }
+            else
+            {
+                throw new IOException("Not a GeoJSON FeatureCollection or Feature: " + type);
+            }
+        }
+
+
+        private void addFeature(Map<String, Object> feature, String[] properties) throws IOException
+        {
+            CountryCode cc = countryOf(feature, properties);
+            Object geometry = feature.get("geometry");
+
+            if (cc != null && geometry != null)
+            {
+                addGeometry(cc, asObject(geometry));
+            }
+        }
+
+
+        private static CountryCode countryOf(Map<String, Object> feature, String[] properties)
+        {
+            Object values = feature.get("properties");
+
+            if (values instanceof Map)
+            {
+                for (String property : properties)
+                {
+                    CountryCode cc = codeOf(((Map<?, ?>)values).get(property));
+
+                    if (cc != null)
+                    {
+                        return cc;
+                    }
+                }
+            }
+
+            return codeOf(feature.get("id"));
+        }
+
+
+        private static CountryCode codeOf(Object value)
+        {
+            return (value instanceof String) ? CountryCode.getByCode((String)value) : null;
+        }
+
+
+        private void addGeometry(CountryCode cc, Map<String, Object> geometry) throws IOException
+        {
+            Object type = geometry.get("type");
+
+            if ("Polygon".equals(type))
+            {
+                addPolygon(cc, asArray(geometry.get("coordinates")));
+            }
+            else if ("MultiPolygon".equals(type))
+            {
+                for (Object polygon : asArray(geometry.get("coordinates")))
+                {
+                    addPolygon(cc, asArray(polygon));
+                }
+            }
+            else if ("GeometryCollection".equals(type))
+            {
+                for (Object member : asArray(geometry.get("geometries")))
+                {
+                    addGeometry(cc, asObject(member));
+                }
+            }
+        }
+
+
+        private void addPolygon(CountryCode cc, List<Object> coordinates) throws IOException
+        {
+            double[][] polygon = new double[coordinates.size()][];
+
+            for (int r = 0; r < polygon.length; ++r)
+            {
+                List<Object> positions = asArray(coordinates.get(r));
+                double[] ring = new double[positions.size() * 2];
+
+                for (int i = 0; i < positions.size(); ++i)
+                {
+                    List<Object> position = asArray(positions.get(i));
+
+                    if (position.size() < 2)
+                    {
+                        throw new IOException("Malformed GeoJSON position: " + position);
+                    }
+
+                    ring[i * 2] = asNumber(position.get(0));
+                    ring[i * 2 + 1] = asNumber(position.get(1));
+                }
+
+                polygon[r] = ring;
+            }
+
+            if (polygon.length > 0 && polygon[0].length >= 6)
+            {
+                countries.add(cc);
+                rings.add(polygon);
+            }
+        }
+
+
+        CountryCodeGeocoder build()
+        {
+            interior = new int[columns * rows];
+            border = new int[columns * rows][];
+
+            for (int p = 0; p < rings.size(); ++p)
+            {
+                markBorder(p, rings.get(p));
+                fillInterior(p, rings.get(p));
+            }
+
+            int[] cells = new int[columns * rows];
+            int[] candidates = new int[16];
+            int size = 0;
+
+            for (int cell = 0; cell < cells.length; ++cell)
+            {
+                int[] list = border[cell];
+
+                if (list == null)
+                {
+                    cells[cell] = interior[cell];
+                    continue;
+                }
+
+                if (interior[cell] > 0)
+                {
+                    list = add(list, interior[cell] - 1);
+                }
+
+                int count = list[0];
+
+                // Test candidates in input order, so that overlapping
+                // polygons resolve the same way whatever the cell size.
+                Arrays.sort(list, 1, 1 + count);
+
+                if (candidates.length < size + 1 + count)
+                {
+                    candidates = copyOf(candidates, Math.max(candidates.length * 2, size + 1 + count));
+                }
+
+                cells[cell] = -(size + 1);
+                System.arraycopy(list, 0, candidates, size, 1 + count);
+                size += 1 + count;
+            }
+
+            return new CountryCodeGeocoder(cellSize, cells, copyOf(candidates, size),
+                    countries.toArray(new CountryCode[countries.size()]),
+                    rings.toArray(new double[rings.size()][][]));
+        }
+
+
+        /**
+         * Make the polygon a candidate of every cell one of its edges
+         * passes through. Each edge is split into pieces no longer than
+         * a cell, and the cells around each piece are marked.
+         */
+        private void markBorder(int polygon, double[][] polygonRings)
+        {
+            double margin = cellSize * 1e-9;
+
+            for (double[] ring : polygonRings)
+            {
+                for (int i = 0, j = ring.length - 2; i < ring.length; j = i, i += 2)
+                {
+                    double x0 = ring[j], y0 = ring[j + 1];
+                    double dx = ring[i] - x0, dy = ring[i + 1] - y0;
+                    int pieces = Math.max(1, (int)Math.ceil(Math.max(Math.abs(dx), Math.abs(dy)) / cellSize));
+
+                    for (int k = 0; k < pieces; ++k)
+                    {
+                        double ax = x0 + dx * k / pieces, ay = y0 + dy * k / pieces;
+                        double bx = x0 + dx * (k + 1) / pieces, by = y0 + dy * (k + 1) / pieces;
+
+                        int c0 = column(Math.min(ax, bx) - margin), c1 = column(Math.max(ax, bx) + margin);
+                        int r0 = row(Math.min(ay, by) - margin), r1 = row(Math.max(ay, by) + margin);
+
+                        for (int r = r0; r <= r1; ++r)
+                        {
+                            for (int c = c0; c <= c1; ++c)
+                            {
+                                addBorder(r * columns + c, polygon);
+                            }
+                        }
+                    }
+                }
+            }
+        }
+
+
+        /**
+         * Mark the cells whose center is inside the polygon and that no
+         * edge of the polygon passes through, i.e. the cells that lie
+         * entirely inside it. Scans each row of cells at the latitude of
+         * their centers.
+         */
+        private void fillInterior(int polygon, double[][] polygonRings)
+        {
+            double minY = Double.POSITIVE_INFINITY, maxY = Double.NEGATIVE_INFINITY;
+
+            for (int i = 1; i < polygonRings[0].length; i += 2)
+            {
+                minY = Math.min(minY, polygonRings[0][i]);
+                maxY = Math.max(maxY, polygonRings[0][i]);
+            }
+
+            double[] crossings = new double[16];
+
+            for (int r = row(minY), r1 = row(maxY); r <= r1; ++r)
+            {
+                double y = -90 + (r + 0.5) * cellSize;
+                int count = 0;
+
+                for (double[] ring : polygonRings)
+                {
+                    for (int i = 0, j = ring.length - 2; i < ring.length; j = i, i += 2)
+                    {
+                        double xi = ring[i], yi = ring[i + 1];
+                        double xj = ring[j], yj = ring[j + 1];
+
+                        if ((yi <= y) != (yj <= y))
+                        {
+                            if (count == crossings.length)
+                            {
+                                double[] grown = new double[count * 2];
+
+                                System.arraycopy(crossings, 0, grown, 0, count);
+                                crossings = grown;
+                            }
+
+                            crossings[count++] = xi + (y - yi) * (xj - xi) / (yj - yi);
+                        }
+                    }
+                }
+
+                Arrays.sort(crossings, 0, count);
+
+                for (int k = 0; k + 1 < count; k += 2)
+                {
+                    // Columns whose center x satisfies x0 <= x < x1.
+                    int c0 = Math.max(0, (int)Math.ceil((crossings[k] + 180) / cellSize - 0.5));
+                    int c1 = Math.min(columns, (int)Math.ceil((crossings[k + 1] + 180) / cellSize - 0.5));
+
+                    for (int c = c0; c < c1; ++c)
+                    {
+                        int cell = r * columns + c;
+                        int[] list = border[cell];
+
+                        if (list != null && list[list[0]] == polygon)
+                        {
+                            continue;
+                        }
+
+                        if (interior[cell] == 0)
+                        {
+                            interior[cell] = polygon + 1;
+                        }
+                        else
+                        {
+                            // Overlapping polygons: test both.
+                            addBorder(cell, interior[cell] - 1);
+                            addBorder(cell, polygon);
+                            interior[cell] = 0;
+                        }
+                    }
+                }
+            }
+        }
+
+
+        private void addBorder(int cell, int polygon)
+        {
+            int[] list = border[cell];
+
+            if (list == null)
+            {
+                border[cell] = new int[] { 1, polygon };
+            }
+            else if (list[list[0]] != polygon)
+            {
+                border[cell] = add(list, polygon);
+            }
+        }
+
+
+        private static int[] add(int[] list, int polygon)
+        {
+            int count = list[0];
+
+            if (count + 1 == list.length)
+            {
+                list = copyOf(list, list.length * 2);
+            }
+
+            list[count + 1] = polygon;
+            list[0] = count + 1;
+
+            return list;
+        }
+
+
+        /**
+         * Same as Arrays.copyOf, which needs Java 6.
+         */
+        private static int[] copyOf(int[] array, int length)
+        {
+            int[] copy = new int[length];
+
+            System.arraycopy(array, 0, copy, 0, Math.min(array.length, length));
+
+            return copy;
+        }
+
+
+        private int column(double x)
+        {
+            return Math.max(0, Math.min(columns - 1, (int)Math.floor((x + 180) / cellSize)));
+        }
+
+
+        private int row(double y)
+        {
+            return Math.max(0, Math.min(rows - 1, (int)Math.floor((y + 90) / cellSize)));
+        }
+
+
+        @SuppressWarnings("unchecked")
+        private static Map<String, Object> asObject(Object value) throws IOException
+        {
+            if (value instanceof Map)
+            {
+                return (Map<String, Object>)value;
+            }
+
+            throw new IOException("Malformed GeoJSON: expected an object.");
+        }
+
+
+        @SuppressWarnings("unchecked")
+        private static List<Object> asArray(Object value) throws IOException
+        {
+            if (value instanceof List)
+            {
+                return (List<Object>)value;
+            }
+
+            throw new IOException("Malformed GeoJSON: expected an array.");
+        }
+
+
+        private static double asNumber(Object value) throws IOException
+        {
+            if (value instanceof Double)
+            {
+                return (Double)value;
+            }
+
+            throw new IOException("Malformed GeoJSON: expected a number.");
+        }
+    }
+
+
+    /**
+     * Minimal JSON parser. Objects become Maps, arrays Lists, numbers
+     * Doubles, and true/false/null Booleans and null.
+     */
+    private static final class JsonParser
+    {
+        private final Reader in;
+        private final StringBuilder buffer = new StringBuilder();
+        private int c;
+
+
+        JsonParser(Reader in)
+        {
+            this.in = (in instanceof BufferedReader) ? in : new BufferedReader(in);
+        }
+
+
+        Object parse() throws IOException
+        {
+            next();
+
+            Object value = value();
+
+            skipWhitespace();
+
+            if (c != -1)
+            {
+                throw error("trailing characters");
+            }
+
+            return value;
+        }
+
+
+        private Object value() throws IOException
+        {
+            skipWhitespace();
+
+            switch (c)
+            {
+                case '{':
+                    return object();
+
+                case '[':
+                    return array();
+
+                case '"':
+                    return string();
+
+                case 't':
+                    literal("true");
+                    return Boolean.TRUE;
+
+                case 'f':
+                    literal("false");
+                    return Boolean.FALSE;
+
+                case 'n':
+                    literal("null");
+                    return null;
+
+                default:
+                    return number();
+            }
+        }
+
+
+        private Map<String, Object> object() throws IOException
+        {
+            Map<String, Object> object = new HashMap<String, Object>();
+
+            next();
+            skipWhitespace();
+
+            if (c == '}')
+            {
+                next();
+                return object;
+            }
+
+            while (true)
+            {
+                skipWhitespace();
+
+                if (c != '"')
+                {
+                    throw error("expected a member name");
+                }
+
+                String name = string();
+
+                skipWhitespace();
+                expect(':');
+                object.put(name, value());
+                skipWhitespace();
+
+                if (c == '}')
+                {
+                    next();
+                    return object;
+                }
+
+                expect(',');
+            }
+        }
+
+
+        private List<Object> array() throws IOException
+        {
+            List<Object> array = new ArrayList<Object>();
+
+            next();
+            skipWhitespace();
+
+            if (c == ']')
+            {
+                next();
+                return array;
+            }
+
+            while (true)
+            {
+                array.add(value());
+                skipWhitespace();
+
+                if (c == ']')
+                {
+                    next();
+                    return array;
+                }
+
+                expect(',');
+            }
+        }
+
+
+        private String string() throws IOException
+        {
+            buffer.setLength(0);
+            next();
+
+            while (c != '"')
+            {
+                if (c == -1)
+                {
+                    throw error("unterminated string");
+                }
+
+                if (c == '\\')
+                {
+                    next();
+
+                    switch (c)
+                    {
+                        case 'b': buffer.append('\b'); break;
+                        case 'f': buffer.append('\f'); break;
+                        case 'n': buffer.append('\n'); break;
+                        case 'r': buffer.append('\r'); break;
+                        case 't': buffer.append('\t'); break;
+                        case 'u': buffer.append((char)hex4()); break;
+                        case '"': case '\\': case '/': buffer.append((char)c); break;
+                        default: throw error("bad escape");
+                    }
+                }
+                else
+                {
+                    buffer.append((char)c);
+                }
+
+                next();
+            }
+
+            next();
+
+            return buffer.toString();
+        }
+
+
+        private int hex4() throws IOException
+        {
+            int value = 0;
+
+            for (int i = 0; i < 4; ++i)
+            {
+                next();
+
+                int digit = Character.digit(c, 16);
+
+                if (digit < 0)
+                {
+                    throw error("bad unicode escape");
+                }
+
+                value = (value << 4) | digit;
+            }
+
+            return value;
+        }
+
+
+        private Double number() throws IOException
+        {
+            buffer.setLength(0);
+
+            while (c == '-' || c == '+' || c == '.' || c == 'e' || c == 'E' || ('0' <= c && c <= '9'))
+            {
+                buffer.append((char)c);
+                next();
+            }
+
+            try
+            {
+                return Double.valueOf(buffer.toString());
+            }
+            catch (NumberFormatException e)
+            {
+                throw error("expected a value");
+            }
+        }
+
+
+        private void literal(String literal) throws IOException
+        {
+            for (int i = 0; i < literal.length(); ++i)
+            {
+                if (c != literal.charAt(i))
+                {
+                    throw error("expected " + literal);
+                }
+
+                next();
+            }
+        }
+
+
+        private void expect(char expected) throws IOException
+        {
+            if (c != expected)
+            {
+                throw error("expected '" + expected + "'");
+            }
+
+            next();
+        }
+
+
+        private void skipWhitespace() throws IOException
+        {
+            while (c == ' ' || c == '\t' || c == '\n' || c == '\r')
+            {
+                next();
+            }
+        }
+
+
+        private void next() throws IOException
+        {
+            c = in.read();
+        }
+
+
+        private IOException error(String message)
+        {
+            return new IOException("Malformed JSON: " + message + ".");
+        }
+    }
+}
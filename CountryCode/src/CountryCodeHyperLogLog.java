@@ -0,0 +1,580 @@
+/*
+ * Copyright (C) 2012 Neo Visionaries Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+
+/**
+ * Per-country <a href="http://en.wikipedia.org/wiki/HyperLogLog">HyperLogLog</a>
+ * distinct-count sketches.
+ *
+ * <p>
+ * One sketch of 2<sup>precision</sup> registers is kept for every
+ * {@link CountryCode}, all in a single flat array indexed by
+ * {@link CountryCode#ordinal()}. Registers are one byte each, packed
+ * eight to a {@code long}. The relative standard error of an estimate
+ * is about 1.04 / sqrt(2<sup>precision</sup>), e.g. 1.6% at precision 12.
+ * </p>
+ *
+ * <p>
+ * All updates are lock-free: {@link #offer(CountryCode, long)} and
+ * {@link #merge(CountryCodeHyperLogLog)} raise registers with
+ * compare-and-set, so any number of threads may update and merge
+ * concurrently. Merging takes the byte-wise maximum of eight registers
+ * at a time and writes only the words that change, so it runs at
+ * roughly memory bandwidth.
+ * </p>
+ *
+ * <p>
+ * The serialized form ({@link #writeTo(OutputStream)}) identifies each
+ * sketch by its alpha-2 code rather than its ordinal and contains only
+ * non-empty sketches, so sketches written by one node can be merged on
+ * another even if their CountryCode versions differ.
+ * </p>
+ *
+ * <pre style="background-color: #EEEEEE; margin-left: 2em; margin-right: 2em; border: 1px solid black;">
+ * CountryCodeHyperLogLog users = new CountryCodeHyperLogLog(12);
+ *
+ * users.{@link #offer(CountryCode, long) offer}(CountryCode.JP, userId);
+ *
+ * <span style="color: darkgreen;">// On the aggregating node</span>
+ * total.{@link #mergeFrom(InputStream) mergeFrom}(in);
+ * long distinct = total.{@link #estimate(CountryCode) estimate}(CountryCode.JP);
+ * </pre>
+ */
+public class CountryCodeHyperLogLog
+{
+    /**
+     * Minimum precision.
+     */
+    public static final int MIN_PRECISION = 4;
+
+    /**
+     * Maximum precision.
+     */
+    public static final int MAX_PRECISION = 16;
+
+
+    private static final int MAGIC = ('C' << 24) | ('H' << 16) | ('L' << 8) | 'L';
+    private static final int VERSION = 1;
+    private static final long HIGHS = 0x8080808080808080L;
+
+
+    private final int precision;
+    private final int wordsPerSketch;
+    private final AtomicLongArray registers;
+
+
+    /**
+     * Constructor.
+     *
+     * @param precision
+     *         log2 of the number of registers per country,
+     *         from {@link #MIN_PRECISION} to {@link #MAX_PRECISION}.
+     *
+     * @throws IllegalArgumentException
+     *         precision is out of range.
+     */
+    public CountryCodeHyperLogLog(int precision)
+    {
+        if (precision < MIN_PRECISION || MAX_PRECISION < precision)
+        {
+            throw new IllegalArgumentException("precision must be in the range "
+                    + MIN_PRECISION + ".." + MAX_PRECISION + ".");
+        }
+
+        this.precision = precision;
+        this.wordsPerSketch = (1 << precision) >>> 3;
+        this.registers = new AtomicLongArray(CountryCode.values().length * wordsPerSketch);
+    }
+
+
+    /**
+     * Get the precision.
+     *
+     * @return
+     *         log2 of the number of registers per country.
+     */
+    public int getPrecision()
+    {
+        return precision;
+    }
+
+
+    /**
+     * Add an item, such as a user ID, to the sketch of a country.
+     *
+     * @param cc
+     *         A country.
+     *
+     * @param item
+     *         An item. It is hashed before use.
+     */
+    public void offer(CountryCode cc, long item)
+    {
+        offerHash(cc, mix(item));
+    }
+
+
+    /**
+     * Add an item, such as a user name, to the sketch of a country.
+     *
+     * @param cc
+     *         A country.
+     *
+     * @param item
+     *         An item. It is hashed before use.
+     */
+    public void offer(CountryCode cc, CharSequence item)
+    {
+        // 64-bit FNV-1a, then the MurmurHash3 finalizer.
+        long h = 0xCBF29CE484222325L;
+
+        for (int i = 0, n = item.length(); i < n; ++i)
+        {
+            h = (h ^ item.charAt(i)) * 0x100000001B3L;
+        }
+
+        offerHash(cc, mix(h));
+    }
+
+
+    /**
+     * Add an item that has already been hashed to the sketch of a country.
+     *
+     * @param cc
+     *         A country.
+     *
+     * @param hash
+     *         A well-mixed 64-bit hash of the item.
+     */
+    public void offerHash(CountryCode cc, long hash)
+    {
+        int index = (int)(hash >>> (64 - precision));
+
+        // Rank of the first 1 bit in the remaining bits, capped at
+        // 64 - precision + 1 by the sentinel bit.
+        int rank = Long.numberOfLeadingZeros((hash << precision) | (1L << (precision - 1))) + 1;
+
+        raise(cc.ordinal() * wordsPerSketch + (index >>> 3), (index & 7) << 3, rank);
+    }
+
+
+    private void raise(int word, int shift, long rank)
+    {
+        while (true)
+        {
+            long current = registers.get(word);
+
+            if (((current >>> shift) & 0xFF) >= rank)
+            {
+                return;
+            }
+
+            long next = (current & ~(0xFFL << shift)) | (rank << shift);
+
+            if (registers.compareAndSet(word, current, next))
+            {
+                return;
+            }
+        }
+    }
+
+
+    /**
+     * Estimate the number of distinct items added for a country.
+     *
+     * @param cc
+     *         A country.
+     *
+     * @return
+     *         The estimated number of distinct items.
+     */
+    public long estimate(CountryCode cc)
+    {
+        int m = 1 << precision;
+        int base = cc.ordinal() * wordsPerSketch;
+        double sum = 0;
+        int zeros = 0;
+
+        for (int i = 0; i < wordsPerSketch; ++i)
+        {
+            long word = registers.get(base + i);
+
+            for (int k = 0; k < 8; ++k, word >>>= 8)
+            {
+                int r = (int)word & 0xFF;
+
+                if (r == 0)
+                {
+                    ++zeros;
+                }
+
+                sum += 1.0 / (1L << r);
+            }
+        }
+
+        double estimate = alpha(m) * m * m / sum;
+
+        if (estimate <= 2.5 * m && zeros != 0)
+        {
+            // Small range correction: linear counting.
+            estimate = m * Math.log((double)m / zeros);
+        }
+
+        return Math.round(estimate);
+    }
+
+
+    /**
+     * Merge another set of sketches into this one. After merging,
+     * each country's estimate reflects the union of the items added
+     * to both. The other instance may be updated concurrently.
+     *
+     * @param other
+     *         Sketches of the same precision.
+     *
+     * @throws IllegalArgumentException
+     *         other has a different precision.
+     */
+    public void merge(CountryCodeHyperLogLog other)
+    {
+        if (other.precision != precision)
+        {
+            throw new IllegalArgumentException("Precision mismatch: " + other.precision + " != " + precision);
+        }
+
+        for (int i = 0, n = registers.length(); i < n; ++i)
+        {
+            long theirs = other.registers.get(i);
+
+            if (theirs != 0)
+            {
+                mergeWord(i, theirs);
+            }
+        }
+    }
+
+
+    private void mergeWord(int word, long theirs)
+    {
+        while (true)
+        {
+            long current = registers.get(word);
+            long max = max(current, theirs);
+
+            if (max == current || registers.compareAndSet(word, current, max))
+            {
+                return;
+            }
+        }
+    }
+
+
+    /**
+     * Byte-wise maximum of eight registers. Registers never exceed
+     * 64, so bit 7 of every byte is free to absorb borrows.
+     */
+    private static long max(long a, long b)
+    {
+        // Bit 7 of each byte is set where a >= b.
+        long ge = ((a | HIGHS) - b) & HIGHS;
+        long mask = (ge >>> 7) * 0xFF;
+
+        return (a & mask) | (b & ~mask);
+    }
+
+
+    /**
+     * Reset all sketches. Not atomic with respect to concurrent updates.
+     */
+    public void clear()
+    {
+        for (int i = 0, n = registers.length(); i < n; ++i)
+        {
+            registers.set(i, 0);
+        }
+    }
+
+
+    /**
+     * Write the non-empty sketches. Registers are packed 6 bits each.
+     * Sketches that become non-empty during a concurrent {@link
+     * #offer(CountryCode, long) offer} may or may not be written.
+     *
+     * @param out
+     *         Output stream. It is not closed.
+     *
+     * @throws IOException
+     *         Failed to write.
+     */
+    public void writeTo(OutputStream out) throws IOException
+    {
+        CountryCode[] values = CountryCode.values();
+        DataOutputStream dout = new DataOutputStream(out);
+        byte[] packed = new byte[packedLength()];
+
+        // Decide once which sketches to write, so that the count in the
+        // header matches the body even if offer() fills a sketch midway.
+        boolean[] written = new boolean[values.length];
+        int count = 0;
+
+        for (CountryCode cc : values)
+        {
+            if (isEmpty(cc) == false)
+            {
+                written[cc.ordinal()] = true;
+                ++count;
+            }
+        }
+
+        dout.writeInt(MAGIC);
+        dout.writeByte(VERSION);
+        dout.writeByte(precision);
+        dout.writeShort(count);
+
+        for (CountryCode cc : values)
+        {
+            if (written[cc.ordinal()] == false)
+            {
+                continue;
+            }
+
+            String alpha2 = cc.getAlpha2();
+            int base = cc.ordinal() * wordsPerSketch;
+            long buffer = 0;
+            int filled = 0;
+            int p = 0;
+
+            for (int i = 0; i < wordsPerSketch; ++i)
+            {
+                long word = registers.get(base + i);
+
+                for (int k = 0; k < 8; ++k, word >>>= 8)
+                {
+                    buffer |= (word & 0x3F) << filled;
+                    filled += 6;
+
+                    while (filled >= 8)
+                    {
+                        packed[p++] = (byte)buffer;
+                        buffer >>>= 8;
+                        filled -= 8;
+                    }
+                }
+            }
+
+            dout.writeByte(alpha2.charAt(0));
+            dout.writeByte(alpha2.charAt(1));
+            dout.write(packed, 0, p);
+        }
+
+        dout.flush();
+    }
+
+
+    /**
+     * Merge sketches written by {@link #writeTo(OutputStream)} into this
+     * instance. Sketches of countries unknown to this version of
+     * CountryCode are skipped.
+     *
+     * @param in
+     *         Input stream. It is not closed.
+     *
+     * @throws IOException
+     *         Failed to read, the input is malformed, or its precision
+     *         differs from this instance's.
+     */
+    public void mergeFrom(InputStream in) throws IOException
+    {
+        DataInputStream din = new DataInputStream(in);
+        int p = readHeader(din);
+
+        if (p != precision)
+        {
+            throw new IOException("Precision mismatch: " + p + " != " + precision);
+        }
+
+        mergeSketches(din);
+    }
+
+
+    private void mergeSketches(DataInputStream din) throws IOException
+    {
+        int count = din.readUnsignedShort();
+        byte[] packed = new byte[packedLength()];
+        char[] code = new char[2];
+
+        for (int c = 0; c < count; ++c)
+        {
+            code[0] = (char)din.readUnsignedByte();
+            code[1] = (char)din.readUnsignedByte();
+            din.readFully(packed);
+
+            CountryCode cc = CountryCode.getByCode(new String(code));
+
+            if (cc == null)
+            {
+                continue;
+            }
+
+            int base = cc.ordinal() * wordsPerSketch;
+            long buffer = 0;
+            int filled = 0;
+            int q = 0;
+
+            for (int i = 0; i < wordsPerSketch; ++i)
+            {
+                long word = 0;
+
+                for (int k = 0; k < 8; ++k)
+                {
+                    while (filled < 6)
+                    {
+                        buffer |= (long)(packed[q++] & 0xFF) << filled;
+                        filled += 8;
+                    }
+
+                    word |= (buffer & 0x3F) << (k << 3);
+                    buffer >>>= 6;
+                    filled -= 6;
+                }
+
+                if (word != 0)
+                {
+                    mergeWord(base + i, word);
+                }
+            }
+        }
+    }
+
+
+    /**
+     * Create an instance from sketches written by
+     * {@link #writeTo(OutputStream)}.
+     *
+     * @param in
+     *         Input stream. It is not closed.
+     *
+     * @return
+     *         A new instance.
+     *
+     * @throws IOException
+     *         Failed to read, or the input is malformed.
+     */
+    public static CountryCodeHyperLogLog readFrom(InputStream in) throws IOException
+    {
+        DataInputStream din = new DataInputStream(in);
+        CountryCodeHyperLogLog hll = new CountryCodeHyperLogLog(readHeader(din));
+
+        hll.mergeSketches(din);
+
+        return hll;
+    }
+
+
+    /**
+     * Read the header of the serialized form.
+     *
+     * @return
+     *         The precision.
+     */
+    private static int readHeader(DataInputStream din) throws IOException
+    {
+        if (din.readInt() != MAGIC)
+        {
+            throw new IOException("Not a country code HyperLogLog.");
+        }
+
+        int version = din.readUnsignedByte();
+
+        if (version != VERSION)
+        {
+            throw new IOException("Unsupported country code HyperLogLog version: " + version);
+        }
+
+        int precision = din.readUnsignedByte();
+
+        if (precision < MIN_PRECISION || MAX_PRECISION < precision)
+        {
+            throw new IOException("Malformed precision: " + precision);
+        }
+
+        return precision;
+    }
+
+
+    private boolean isEmpty(CountryCode cc)
+    {
+        int base = cc.ordinal() * wordsPerSketch;
+
+        for (int i = 0; i < wordsPerSketch; ++i)
+        {
+            if (registers.get(base + i) != 0)
+            {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+
+    private int packedLength()
+    {
+        return ((1 << precision) * 6) >>> 3;
+    }
+
+
+    private static double alpha(int m)
+    {
+        switch (m)
+        {
+            case 16:
+                return 0.673;
+
+            case 32:
+                return 0.697;
+
+            case 64:
+                return 0.709;
+
+            default:
+                return 0.7213 / (1 + 1.079 / m);
+        }
+    }
+
+
+    /**
+     * MurmurHash3 64-bit finalizer.
+     */
+    private static long mix(long h)
+    {
+        h ^= h >>> 33;
+        h *= 0xFF51AFD7ED558CCDL;
+        h ^= h >>> 33;
+        h *= 0xC4CEB9FE1A85EC53L;
+        h ^= h >>> 33;
+
+        return h;
+    }
+}
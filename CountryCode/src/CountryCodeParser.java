@@ -0,0 +1,591 @@
+/*
+ * Copyright (C) 2012 Neo Visionaries Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+import java.util.Set;
+
+
+/**
+ * Single-pass, allocation-free parser of country code lists and
+ * <a href="http://tools.ietf.org/html/rfc7231#section-5.3.5">Accept-Language</a>
+ * headers.
+ *
+ * <p>
+ * The input is walked once, character by character. Each token is
+ * resolved through the packed-code tables (see {@link PackedCountryCode})
+ * without creating substrings, and the results are written straight
+ * into the caller's set, bitmask or array. Codes are matched
+ * case-insensitively.
+ * </p>
+ *
+ * <pre style="background-color: #EEEEEE; margin-left: 2em; margin-right: 2em; border: 1px solid black;">
+ * Set&lt;CountryCode&gt; set = EnumSet.noneOf(CountryCode.class);
+ * CountryCodeParser.{@link #parse(CharSequence, Set) parse}("JP,US;gbr", set);                    <span style="color: darkgreen;">// [GB, JP, US]</span>
+ *
+ * CountryCode[] countries = new CountryCode[8];
+ * int[] weights = new int[8];
+ * int n = CountryCodeParser.{@link #parseAcceptLanguage(CharSequence, CountryCode[], int[], int, int)
+ * parseAcceptLanguage}("fr-CA;q=0.8, en-US", countries, weights, 0, 8);  <span style="color: darkgreen;">// n = 2: US (1000), CA (800)</span>
+ * </pre>
+ */
+public final class CountryCodeParser
+{
+    /**
+     * Weight of a language range without a q parameter (q=1).
+     */
+    public static final int MAX_WEIGHT = 1000;
+
+
+    private CountryCodeParser()
+    {
+    }
+
+
+    /**
+     * Parse a list of alpha-2 and/or alpha-3 codes separated by commas,
+     * semicolons, vertical bars or white space, e.g. "JP,US,GB" or
+     * "JPN; USA".
+     *
+     * @param text
+     *         The list.
+     *
+     * @param result
+     *         Set to add the countries to, e.g. an EnumSet.
+     *
+     * @return
+     *         The number of non-empty tokens that are not country codes.
+     */
+    public static int parse(CharSequence text, Set<CountryCode> result)
+    {
+        CountryCode[] values = Values.values;
+        int unknown = 0;
+
+        for (int pos = 0, length = text.length(); pos < length; )
+        {
+            int start = skipSeparators(text, pos, length);
+            int end = tokenEnd(text, start, length);
+
+            if (start < end)
+            {
+                int ordinal = resolveCode(text, start, end);
+
+                if (ordinal < 0)
+                {
+                    ++unknown;
+                }
+                else
+                {
+                    result.add(values[ordinal]);
+                }
+            }
+
+            pos = end;
+        }
+
+        return unknown;
+    }
+
+
+    /**
+     * Parse a list of codes into a bitmask. See {@link #parse(CharSequence, Set)}
+     * for the list syntax.
+     *
+     * @param text
+     *         The list.
+     *
+     * @param bitmask
+     *         Bitmask to set bits in. Bit {@code ordinal & 63} of word
+     *         {@code ordinal >>> 6} is set for each country. Its length
+     *         must be at least {@code (CountryCode.values().length + 63) / 64}.
+     *
+     * @return
+     *         The number of non-empty tokens that are not country codes.
+     */
+    public static int parse(CharSequence text, long[] bitmask)
+    {
+        int unknown = 0;
+
+        for (int pos = 0, length = text.length(); pos < length; )
+        {
+            int start = skipSeparators(text, pos, length);
+            int end = tokenEnd(text, start, length);
+
+            if (start < end)
+            {
+                int ordinal = resolveCode(text, start, end);
+
+                if (ordinal < 0)
+                {
+                    ++unknown;
+                }
+                else
+                {
+                    bitmask[ordinal >>> 6] |= 1L << ordinal;
+                }
+            }
+
+            pos = end;
+        }
+
+        return unknown;
+    }
+
+
+    /**
+     * Parse a list of codes into an array, in the order they appear.
+     * Tokens that are not country codes are skipped; duplicates are kept.
+     * See {@link #parse(CharSequence, Set)} for the list syntax.
+     *
+     * @param text
+     *         The list.
+     *
+     * @param dst
+     *         Destination array.
+     *
+     * @param off
+     *         Offset of the first country in dst.
+     *
+     * @param len
+     *         Maximum number of countries to store. Parsing stops when
+     *         this many have been stored.
+     *
+     * @return
+     *         The number of countries stored.
+     */
+    public static int parse(CharSequence text, CountryCode[] dst, int off, int len)
+    {
+        CountryCode[] values = Values.values;
+        int count = 0;
+
+        for (int pos = 0, length = text.length(); pos < length && count < len; )
+        {
+            int start = skipSeparators(text, pos, length);
+            int end = tokenEnd(text, start, length);
+
+            if (start < end)
+            {
+                int ordinal = resolveCode(text, start, end);
+
+                if (ordinal >= 0)
+                {
+                    dst[off + count++] = values[ordinal];
+                }
+            }
+
+            pos = end;
+        }
+
+        return count;
+    }
+
+
+    /**
+     * Parse the value of an Accept-Language header and add the countries
+     * of its region subtags, e.g. US for "en-US". Language ranges with
+     * q=0 are ignored.
+     *
+     * @param header
+     *         The header value, e.g. "en-US,fr-CA;q=0.8".
+     *
+     * @param result
+     *         Set to add the countries to.
+     *
+     * @return
+     *         The number of countries added or already present.
+     */
+    public static int parseAcceptLanguage(CharSequence header, Set<CountryCode> result)
+    {
+        CountryCode[] values = Values.values;
+        int count = 0;
+
+        for (int pos = 0, length = header.length(); pos < length; )
+        {
+            int end = rangeEnd(header, pos, length);
+            int ordinal = regionOf(header, pos, end);
+
+            if (ordinal >= 0 && weightOf(header, pos, end) > 0)
+            {
+                result.add(values[ordinal]);
+                ++count;
+            }
+
+            pos = end + 1;
+        }
+
+        return count;
+    }
+
+
+    /**
+     * Parse the value of an Accept-Language header into countries ordered
+     * by preference. A country is taken from the region subtag of each
+     * language range (e.g. US for "en-US" or "zh-Hant-US"); ranges without
+     * one, and ranges with q=0, are ignored. Countries are sorted by
+     * descending weight, ties keeping header order, and each appears once
+     * with its highest weight.
+     *
+     * @param header
+     *         The header value, e.g. "en-US,fr-CA;q=0.8".
+     *
+     * @param countries
+     *         Destination of countries.
+     *
+     * @param weights
+     *         Destination of weights, parallel to countries: the q value
+     *         times {@link #MAX_WEIGHT}, e.g. 800 for q=0.8.
+     *
+     * @param off
+     *         Offset of the first entry in countries and weights.
+     *
+     * @param len
+     *         Maximum number of entries. When more countries are found,
+     *         the ones with the lowest weights are dropped.
+     *
+     * @return
+     *         The number of entries stored.
+     */
+    public static int parseAcceptLanguage(CharSequence header, CountryCode[] countries, int[] weights, int off, int len)
+    {
+        CountryCode[] values = Values.values;
+        int count = 0;
+
+        for (int pos = 0, length = header.length(); pos < length; )
+        {
+            int end = rangeEnd(header, pos, length);
+            int ordinal = regionOf(header, pos, end);
+            int weight;
+
+            if (ordinal >= 0 && (weight = weightOf(header, pos, end)) > 0)
+            {
+                count = insert(values[ordinal], weight, countries, weights, off, len, count);
+            }
+
+            pos = end + 1;
+        }
+
+        return count;
+    }
+
+
+    /**
+     * Insert a country into the sorted output, keeping it sorted by
+     * descending weight (stable) and free of duplicates.
+     *
+     * @return
+     *         The new number of entries.
+     */
+    private static int insert(CountryCode cc, int weight, CountryCode[] countries, int[] weights, int off, int len, int count)
+    {
+        // Drop an existing entry for the same country if it has a lower
+        // weight; keep it and ignore this one otherwise.
+        for (int i = 0; i < count; ++i)
+        {
+            if (countries[off + i] == cc)
+            {
+                if (weights[off + i] >= weight)
+                {
+                    return count;
+                }
+
+                System.arraycopy(countries, off + i + 1, countries, off + i, count - i - 1);
+                System.arraycopy(weights, off + i + 1, weights, off + i, count - i - 1);
+
+                --count;
+                break;
+            }
+        }
+
+        // Find the position after every entry with a weight >= this one.
+        int at = count;
+
+        while (at > 0 && weights[off + at - 1] < weight)
+        {
+            --at;
+        }
+
+        if (at == len)
+        {
+            return count;
+        }
+
+        int moved = Math.min(count, len - 1) - at;
+
+        System.arraycopy(countries, off + at, countries, off + at + 1, moved);
+        System.arraycopy(weights, off + at, weights, off + at + 1, moved);
+        countries[off + at] = cc;
+        weights[off + at] = weight;
+
+        return Math.min(count + 1, len);
+    }
+
+
+    private static boolean isSeparator(char c)
+    {
+        return c == ',' || c == ';' || c == '|' || Character.isWhitespace(c);
+    }
+
+
+    private static int skipSeparators(CharSequence text, int pos, int length)
+    {
+        while (pos < length && isSeparator(text.charAt(pos)))
+        {
+            ++pos;
+        }
+
+        return pos;
+    }
+
+
+    private static int tokenEnd(CharSequence text, int pos, int length)
+    {
+        while (pos < length && isSeparator(text.charAt(pos)) == false)
+        {
+            ++pos;
+        }
+
+        return pos;
+    }
+
+
+    /**
+     * Resolve an alpha-2 or alpha-3 code of either case.
+     *
+     * @return
+     *         The ordinal, or -1.
+     */
+    private static int resolveCode(CharSequence text, int start, int end)
+    {
+        switch (end - start)
+        {
+            case 2:
+            {
+                int c0 = letter(text.charAt(start));
+                int c1 = letter(text.charAt(start + 1));
+
+                return ((c0 | c1) < 0) ? -1 : PackedCountryCode.ordinalOfAlpha2((c0 << 5) | c1);
+            }
+
+            case 3:
+            {
+                int c0 = letter(text.charAt(start));
+                int c1 = letter(text.charAt(start + 1));
+                int c2 = letter(text.charAt(start + 2));
+
+                return ((c0 | c1 | c2) < 0) ? -1 : PackedCountryCode.ordinalOfAlpha3((c0 << 10) | (c1 << 5) | c2);
+            }
+
+            default:
+                return -1;
+        }
+    }
+
+
+    /**
+     * Convert an ASCII letter of either case to 1..26.
+     *
+     * @return
+     *         1..26, or -1 if c is not an ASCII letter.
+     */
+    private static int letter(char c)
+    {
+        int u = c & ~0x20;
+
+        return (c < 0x80 && 'A' <= u && u <= 'Z') ? u - '@' : -1;
+    }
+
+
+    /**
+     * Find the end of a language range: the next ',' or the end of input.
+     */
+    private static int rangeEnd(CharSequence header, int pos, int length)
+    {
+        while (pos < length && header.charAt(pos) != ',')
+        {
+            ++pos;
+        }
+
+        return pos;
+    }
+
+
+    /**
+     * Find the country of the region subtag of a language range, which is
+     * the first subtag after the language that is two letters or three
+     * digits (a UN M.49 code). Three-digit codes resolve only if they are
+     * ISO 3166-1 numeric codes of a country.
+     *
+     * @return
+     *         The ordinal, or -1.
+     */
+    private static int regionOf(CharSequence header, int start, int end)
+    {
+        int tagEnd = start;
+
+        while (tagEnd < end && header.charAt(tagEnd) != ';')
+        {
+            ++tagEnd;
+        }
+
+        // Skip the primary language subtag.
+        int pos = start;
+
+        while (pos < tagEnd && header.charAt(pos) != '-')
+        {
+            ++pos;
+        }
+
+        while (pos < tagEnd)
+        {
+            int subStart = ++pos;
+
+            while (pos < tagEnd && header.charAt(pos) != '-' && Character.isWhitespace(header.charAt(pos)) == false)
+            {
+                ++pos;
+            }
+
+            int subLength = pos - subStart;
+
+            if (subLength == 2)
+            {
+                return resolveCode(header, subStart, pos);
+            }
+
+            if (subLength == 3 && isDigit(header.charAt(subStart)))
+            {
+                int numeric = 0;
+
+                for (int i = subStart; i < pos; ++i)
+                {
+                    char c = header.charAt(i);
+
+                    if (isDigit(c) == false)
+                    {
+                        return -1;
+                    }
+
+                    numeric = numeric * 10 + (c - '0');
+                }
+
+                CountryCode cc = CountryCode.getByCode(numeric);
+
+                return (cc == null) ? -1 : cc.ordinal();
+            }
+
+            // A script (4 letters) or extended language subtag (3 letters)
+            // may precede the region; keep looking. Variants and
+            // extensions come after it, so stop at anything longer.
+            if (subLength != 3 && subLength != 4)
+            {
+                return -1;
+            }
+        }
+
+        return -1;
+    }
+
+
+    /**
+     * Parse the q parameter of a language range.
+     *
+     * @return
+     *         0 to {@link #MAX_WEIGHT}. {@link #MAX_WEIGHT} if there is
+     *         no q parameter, 0 if it is malformed.
+     */
+    private static int weightOf(CharSequence header, int start, int end)
+    {
+        int pos = start;
+
+        while (true)
+        {
+            while (pos < end && header.charAt(pos) != ';')
+            {
+                ++pos;
+            }
+
+            if (pos == end)
+            {
+                return MAX_WEIGHT;
+            }
+
+            pos = skipWhitespace(header, pos + 1, end);
+
+            if (pos + 1 < end && (header.charAt(pos) | 0x20) == 'q')
+            {
+                pos = skipWhitespace(header, pos + 1, end);
+
+                if (pos < end && header.charAt(pos) == '=')
+                {
+                    return parseQValue(header, skipWhitespace(header, pos + 1, end), end);
+                }
+            }
+        }
+    }
+
+
+    /**
+     * Parse a qvalue: "0", "1", or up to three decimals after "0." or "1.".
+     *
+     * @return
+     *         The value times {@link #MAX_WEIGHT}, or 0 if malformed.
+     */
+    private static int parseQValue(CharSequence header, int pos, int end)
+    {
+        if (pos == end || isDigit(header.charAt(pos)) == false)
+        {
+            return 0;
+        }
+
+        int value = (header.charAt(pos++) - '0') * MAX_WEIGHT;
+
+        if (pos < end && header.charAt(pos) == '.')
+        {
+            ++pos;
+
+            for (int scale = MAX_WEIGHT / 10; scale > 0 && pos < end && isDigit(header.charAt(pos)); scale /= 10)
+            {
+                value += (header.charAt(pos++) - '0') * scale;
+            }
+        }
+
+        return Math.min(value, MAX_WEIGHT);
+    }
+
+
+    private static int skipWhitespace(CharSequence text, int pos, int end)
+    {
+        while (pos < end && Character.isWhitespace(text.charAt(pos)))
+        {
+            ++pos;
+        }
+
+        return pos;
+    }
+
+
+    private static boolean isDigit(char c)
+    {
+        return '0' <= c && c <= '9';
+    }
+
+
+    /**
+     * Cached CountryCode.values(), which returns a new array on each call.
+     */
+    private static final class Values
+    {
+        static final CountryCode[] values = CountryCode.values();
+    }
+}
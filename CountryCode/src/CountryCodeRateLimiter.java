@@ -0,0 +1,318 @@
+/*
+ * Copyright (C) 2012 Neo Visionaries Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+
+/**
+ * Lock-free token bucket per country.
+ *
+ * <p>
+ * Each country has a bucket that refills at a configurable rate and holds
+ * at most a configurable number of permits (the burst). Traffic without
+ * a country (null) has a bucket of its own.
+ * </p>
+ *
+ * <p>
+ * A bucket is a single long in an {@link AtomicLongArray} indexed by
+ * {@link CountryCode#ordinal()}: the "theoretical arrival time" of the
+ * generic cell rate algorithm, which is equivalent to a token bucket
+ * but needs no separate token count or refill step. {@link
+ * #tryAcquire(CountryCode, int)} is a compare-and-set loop on that long
+ * and never blocks. Buckets are spaced a cache line apart, with their
+ * rate next to them, so threads acquiring for different countries do
+ * not contend.
+ * </p>
+ *
+ * <pre style="background-color: #EEEEEE; margin-left: 2em; margin-right: 2em; border: 1px solid black;">
+ * <span style="color: darkgreen;">// 100 requests per second with bursts of 20 by default.</span>
+ * CountryCodeRateLimiter limiter = new CountryCodeRateLimiter(100, 20);
+ *
+ * <span style="color: darkgreen;">// Tighter quota for one country.</span>
+ * limiter.{@link #setRate(CountryCode, double, int) setRate}(CountryCode.KP, 5, 1);
+ *
+ * if (limiter.{@link #tryAcquire(CountryCode) tryAcquire}(origin) == false)
+ * {
+ *     <span style="color: darkgreen;">// Reject the request.</span>
+ * }
+ * </pre>
+ */
+public final class CountryCodeRateLimiter
+{
+    /**
+     * longs per bucket: 8 longs = 64 bytes, one cache line.
+     */
+    private static final int STRIDE = 8;
+    private static final int TAT = 0;
+    private static final int INTERVAL = 1;
+    private static final int LIMIT = 2;
+
+    /**
+     * Interval of a bucket whose rate is 0, which grants nothing.
+     */
+    private static final long DENY = -1;
+
+    private static final long NANOS_PER_SECOND = 1000000000L;
+
+    private static final int NULL_INDEX = CountryCode.values().length;
+
+
+    /**
+     * Per bucket, at index * STRIDE: the theoretical arrival time, the
+     * nanoseconds per permit and the maximum lead of the theoretical
+     * arrival time over now (interval * burst).
+     */
+    private final AtomicLongArray buckets;
+
+    /**
+     * Time origin, so that a theoretical arrival time of 0 means a full
+     * bucket.
+     */
+    private final long origin;
+
+
+    /**
+     * Constructor.
+     *
+     * @param permitsPerSecond
+     *         Default rate of every bucket. 0 grants nothing and
+     *         {@link Double#POSITIVE_INFINITY} grants everything.
+     *
+     * @param burst
+     *         Default number of permits a bucket holds when full.
+     *
+     * @throws IllegalArgumentException
+     *         permitsPerSecond is negative or NaN, or burst is not positive.
+     */
+    public CountryCodeRateLimiter(double permitsPerSecond, int burst)
+    {
+        buckets = new AtomicLongArray((NULL_INDEX + 1) * STRIDE);
+        origin = System.nanoTime();
+
+        for (int i = 0; i <= NULL_INDEX; ++i)
+        {
+            configure(i, permitsPerSecond, burst);
+        }
+    }
+
+
+    /**
+     * Set the rate of a country's bucket. The bucket keeps its current
+     * level; a thread acquiring concurrently may see the old rate with
+     * the new burst or vice versa.
+     *
+     * @param cc
+     *         A country, or null for traffic without a country.
+     *
+     * @param permitsPerSecond
+     *         The rate. 0 grants nothing and {@link Double#POSITIVE_INFINITY}
+     *         grants everything.
+     *
+     * @param burst
+     *         The number of permits the bucket holds when full.
+     *
+     * @throws IllegalArgumentException
+     *         permitsPerSecond is negative or NaN, or burst is not positive.
+     */
+    public void setRate(CountryCode cc, double permitsPerSecond, int burst)
+    {
+        configure(indexOf(cc), permitsPerSecond, burst);
+    }
+
+
+    /**
+     * Get the rate of a country's bucket.
+     *
+     * @param cc
+     *         A country, or null for traffic without a country.
+     *
+     * @return
+     *         Permits per second, rounded to whole nanoseconds per permit.
+     */
+    public double getRate(CountryCode cc)
+    {
+        long interval = buckets.get(indexOf(cc) * STRIDE + INTERVAL);
+
+        if (interval == DENY)
+        {
+            return 0;
+        }
+
+        return (interval == 0) ? Double.POSITIVE_INFINITY : (double)NANOS_PER_SECOND / interval;
+    }
+
+
+    /**
+     * Acquire a permit without blocking.
+     *
+     * @param cc
+     *         A country, or null for traffic without a country.
+     *
+     * @return
+     *         true if the permit was granted.
+     */
+    public boolean tryAcquire(CountryCode cc)
+    {
+        return tryAcquire(cc, 1);
+    }
+
+
+    /**
+     * Acquire permits without blocking. Either all or none are granted.
+     *
+     * @param cc
+     *         A country, or null for traffic without a country.
+     *
+     * @param permits
+     *         The number of permits.
+     *
+     * @return
+     *         true if the permits were granted.
+     *
+     * @throws IllegalArgumentException
+     *         permits is negative.
+     */
+    public boolean tryAcquire(CountryCode cc, int permits)
+    {
+        if (permits < 0)
+        {
+            throw new IllegalArgumentException("permits is negative: " + permits);
+        }
+
+        int base = indexOf(cc) * STRIDE;
+        long interval = buckets.get(base + INTERVAL);
+
+        if (interval <= 0)
+        {
+            return interval == 0 || permits == 0;
+        }
+
+        long limit = buckets.get(base + LIMIT);
+        long cost = multiply(interval, permits);
+        long now = now();
+
+        while (true)
+        {
+            long tat = buckets.get(base + TAT);
+            long next = Math.max(tat, now) + cost;
+
+            if (next - now > limit)
+            {
+                return false;
+            }
+
+            if (buckets.compareAndSet(base + TAT, tat, next))
+            {
+                return true;
+            }
+        }
+    }
+
+
+    /**
+     * Get the number of permits a country's bucket holds now.
+     *
+     * @param cc
+     *         A country, or null for traffic without a country.
+     *
+     * @return
+     *         The number of permits, or {@link Integer#MAX_VALUE} if the
+     *         rate is infinite.
+     */
+    public int availablePermits(CountryCode cc)
+    {
+        int base = indexOf(cc) * STRIDE;
+        long interval = buckets.get(base + INTERVAL);
+
+        if (interval <= 0)
+        {
+            return (interval == 0) ? Integer.MAX_VALUE : 0;
+        }
+
+        long now = now();
+        long lead = Math.max(buckets.get(base + TAT), now) - now;
+
+        return (int)((buckets.get(base + LIMIT) - lead) / interval);
+    }
+
+
+    /**
+     * Fill a country's bucket.
+     *
+     * @param cc
+     *         A country, or null for traffic without a country.
+     */
+    public void reset(CountryCode cc)
+    {
+        buckets.set(indexOf(cc) * STRIDE + TAT, 0);
+    }
+
+
+    private void configure(int index, double permitsPerSecond, int burst)
+    {
+        if (!(permitsPerSecond >= 0))
+        {
+            throw new IllegalArgumentException("permitsPerSecond must be 0 or positive: " + permitsPerSecond);
+        }
+
+        if (burst <= 0)
+        {
+            throw new IllegalArgumentException("burst must be positive: " + burst);
+        }
+
+        long interval;
+
+        if (permitsPerSecond == 0)
+        {
+            interval = DENY;
+        }
+        else
+        {
+            // Rates above 1e9/s round to 0, i.e. unlimited.
+            interval = (long)Math.min(NANOS_PER_SECOND / permitsPerSecond, Long.MAX_VALUE / 4);
+        }
+
+        int base = index * STRIDE;
+
+        buckets.set(base + LIMIT, multiply(interval, burst));
+        buckets.set(base + INTERVAL, interval);
+    }
+
+
+    private long now()
+    {
+        return System.nanoTime() - origin;
+    }
+
+
+    private static int indexOf(CountryCode cc)
+    {
+        return (cc == null) ? NULL_INDEX : cc.ordinal();
+    }
+
+
+    /**
+     * Multiply, saturating at a quarter of Long.MAX_VALUE so that adding
+     * the result to a time cannot overflow.
+     */
+    private static long multiply(long interval, int n)
+    {
+        long max = Long.MAX_VALUE / 4;
+
+        return (n != 0 && interval > max / n) ? max : interval * n;
+    }
+}
@@ -0,0 +1,627 @@
+/*
+ * Copyright (C) 2012 Neo Visionaries Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
+
+/**
+ * Counting sort and partitioning of arrays by {@link CountryCode}.
+ *
+ * <p>
+ * There are only as many keys as countries, so records are sorted in
+ * O(n) by counting them per {@link CountryCode#ordinal() ordinal} and
+ * scattering them to their bucket. Sorting is stable: records of the
+ * same country keep their relative order. Records without a country
+ * (null) go last, in the bucket {@link #NULL_KEY}.
+ * </p>
+ *
+ * <p>
+ * Keys come either from an {@link Extractor} or from a precomputed
+ * array of ordinals parallel to the records. Each sort returns the
+ * per-country offsets: the records of country <code>cc</code> are at
+ * <code>[offsets[cc.ordinal()], offsets[cc.ordinal() + 1])</code>.
+ * </p>
+ *
+ * <pre style="background-color: #EEEEEE; margin-left: 2em; margin-right: 2em; border: 1px solid black;">
+ * int[] offsets = CountryCodeSorter.{@link #sort(Object[], int, int, Extractor)
+ * sort}(orders, 0, orders.length, new CountryCodeSorter.Extractor&lt;Order&gt;() {
+ *     public CountryCode getCountryCode(Order order) {
+ *         return order.country;
+ *     }
+ * });
+ *
+ * <span style="color: darkgreen;">// Orders from Japan.</span>
+ * for (int i = offsets[CountryCode.JP.ordinal()]; i &lt; offsets[CountryCode.JP.ordinal() + 1]; ++i) {
+ *     ...
+ * }
+ * </pre>
+ */
+public final class CountryCodeSorter
+{
+    /**
+     * Extracts the country of a record.
+     *
+     * @param <T>
+     *         The type of records.
+     */
+    public interface Extractor<T>
+    {
+        /**
+         * Get the country of a record.
+         *
+         * @param item
+         *         A record.
+         *
+         * @return
+         *         The country, or null.
+         */
+        CountryCode getCountryCode(T item);
+    }
+
+
+    /**
+     * The key of records without a country. Equal to the number of
+     * countries, so it sorts after every ordinal.
+     */
+    public static final int NULL_KEY = CountryCode.values().length;
+
+
+    /**
+     * The number of buckets: one per country plus {@link #NULL_KEY}.
+     */
+    public static final int BUCKETS = NULL_KEY + 1;
+
+
+    private CountryCodeSorter()
+    {
+    }
+
+
+    /**
+     * Get the keys of records.
+     *
+     * @param items
+     *         Records.
+     *
+     * @param from
+     *         Index of the first record (inclusive).
+     *
+     * @param to
+     *         Index of the last record (exclusive).
+     *
+     * @param extractor
+     *         Extractor of the country of a record.
+     *
+     * @return
+     *         Array of length {@code to - from} whose element {@code i}
+     *         is the ordinal of the country of {@code items[from + i]},
+     *         or {@link #NULL_KEY}.
+     */
+    public static <T> int[] ordinals(T[] items, int from, int to, Extractor<? super T> extractor)
+    {
+        int[] ordinals = new int[to - from];
+
+        extract(items, from, to, extractor, ordinals, 0);
+
+        return ordinals;
+    }
+
+
+    /**
+     * Count records per key.
+     *
+     * @param ordinals
+     *         Keys: ordinals or {@link #NULL_KEY}.
+     *
+     * @param from
+     *         Index of the first key (inclusive).
+     *
+     * @param to
+     *         Index of the last key (exclusive).
+     *
+     * @return
+     *         Array of length {@link #BUCKETS} holding the count of
+     *         each key.
+     */
+    public static int[] histogram(int[] ordinals, int from, int to)
+    {
+        int[] counts = new int[BUCKETS];
+
+        for (int i = from; i < to; ++i)
+        {
+            ++counts[ordinals[i]];
+        }
+
+        return counts;
+    }
+
+
+    /**
+     * Count records per key, splitting the range into tasks that run
+     * in parallel on an executor.
+     *
+     * @param ordinals
+     *         Keys: ordinals or {@link #NULL_KEY}.
+     *
+     * @param from
+     *         Index of the first key (inclusive).
+     *
+     * @param to
+     *         Index of the last key (exclusive).
+     *
+     * @param executor
+     *         Executor to run the tasks on.
+     *
+     * @param tasks
+     *         The number of tasks, typically the number of threads
+     *         of the executor.
+     *
+     * @return
+     *         Array of length {@link #BUCKETS} holding the count of
+     *         each key.
+     *
+     * @throws InterruptedException
+     *         Interrupted while waiting for the tasks.
+     */
+    public static int[] histogram(final int[] ordinals, int from, int to, ExecutorService executor, int tasks) throws InterruptedException
+    {
+        final int[] bounds = split(from, to, tasks);
+        List<Callable<int[]>> callables = new ArrayList<Callable<int[]>>(tasks);
+
+        for (int t = 0; t < tasks; ++t)
+        {
+            final int task = t;
+
+            callables.add(new Callable<int[]>() {
+                public int[] call()
+                {
+                    return histogram(ordinals, bounds[task], bounds[task + 1]);
+                }
+            });
+        }
+
+        int[] counts = new int[BUCKETS];
+
+        for (int[] partial : getAll(executor.invokeAll(callables)))
+        {
+            for (int k = 0; k < BUCKETS; ++k)
+            {
+                counts[k] += partial[k];
+            }
+        }
+
+        return counts;
+    }
+
+
+    /**
+     * Convert counts per key to offsets.
+     *
+     * @param counts
+     *         Counts per key, as returned by {@link #histogram(int[], int, int)}.
+     *
+     * @param base
+     *         Offset of the first bucket.
+     *
+     * @return
+     *         Array of length {@link #BUCKETS} + 1. Element {@code k} is
+     *         the start of bucket {@code k} and element {@code k + 1}
+     *         is its end.
+     */
+    public static int[] offsets(int[] counts, int base)
+    {
+        int[] offsets = new int[BUCKETS + 1];
+
+        offsets[0] = base;
+
+        for (int k = 0; k < BUCKETS; ++k)
+        {
+            offsets[k + 1] = offsets[k] + counts[k];
+        }
+
+        return offsets;
+    }
+
+
+    /**
+     * Copy records to another array grouped by country. The source is
+     * not modified.
+     *
+     * @param src
+     *         Records.
+     *
+     * @param ordinals
+     *         Keys of the records: {@code ordinals[i]} is the key of
+     *         {@code src[i]}.
+     *
+     * @param from
+     *         Index of the first record (inclusive).
+     *
+     * @param to
+     *         Index of the last record (exclusive).
+     *
+     * @param dst
+     *         Destination array. Must not be src.
+     *
+     * @param dstOff
+     *         Index in dst of the first record.
+     *
+     * @return
+     *         Offsets of the buckets in dst. See {@link #offsets(int[], int)}.
+     */
+    public static <T> int[] partition(T[] src, int[] ordinals, int from, int to, T[] dst, int dstOff)
+    {
+        int[] offsets = offsets(histogram(ordinals, from, to), dstOff);
+
+        scatter(src, ordinals, 0, from, to, offsets.clone(), dst);
+
+        return offsets;
+    }
+
+
+    /**
+     * Copy records to another array grouped by country. The source is
+     * not modified.
+     *
+     * @param src
+     *         Records.
+     *
+     * @param from
+     *         Index of the first record (inclusive).
+     *
+     * @param to
+     *         Index of the last record (exclusive).
+     *
+     * @param dst
+     *         Destination array. Must not be src.
+     *
+     * @param dstOff
+     *         Index in dst of the first record.
+     *
+     * @param extractor
+     *         Extractor of the country of a record.
+     *
+     * @return
+     *         Offsets of the buckets in dst. See {@link #offsets(int[], int)}.
+     */
+    public static <T> int[] partition(T[] src, int from, int to, T[] dst, int dstOff, Extractor<? super T> extractor)
+    {
+        int[] ordinals = ordinals(src, from, to, extractor);
+        int[] offsets = offsets(histogram(ordinals, 0, ordinals.length), dstOff);
+
+        scatter(src, ordinals, -from, from, to, offsets.clone(), dst);
+
+        return offsets;
+    }
+
+
+    /**
+     * Sort records by country in place.
+     *
+     * @param items
+     *         Records.
+     *
+     * @param from
+     *         Index of the first record (inclusive).
+     *
+     * @param to
+     *         Index of the last record (exclusive).
+     *
+     * @param extractor
+     *         Extractor of the country of a record.
+     *
+     * @return
+     *         Offsets of the buckets in items. See {@link #offsets(int[], int)}.
+     */
+    public static <T> int[] sort(T[] items, int from, int to, Extractor<? super T> extractor)
+    {
+        int[] ordinals = ordinals(items, from, to, extractor);
+        int[] offsets = offsets(histogram(ordinals, 0, ordinals.length), 0);
+        Object[] sorted = new Object[to - from];
+
+        scatter(items, ordinals, -from, from, to, offsets.clone(), sorted);
+        System.arraycopy(sorted, 0, items, from, sorted.length);
+
+        return shift(offsets, from);
+    }
+
+
+    /**
+     * Sort records by precomputed keys in place. The keys are sorted
+     * along with the records, so they stay parallel.
+     *
+     * @param items
+     *         Records.
+     *
+     * @param ordinals
+     *         Keys of the records: {@code ordinals[i]} is the key of
+     *         {@code items[i]}.
+     *
+     * @param from
+     *         Index of the first record (inclusive).
+     *
+     * @param to
+     *         Index of the last record (exclusive).
+     *
+     * @return
+     *         Offsets of the buckets in items. See {@link #offsets(int[], int)}.
+     */
+    public static <T> int[] sort(T[] items, int[] ordinals, int from, int to)
+    {
+        int[] offsets = offsets(histogram(ordinals, from, to), 0);
+        Object[] sorted = new Object[to - from];
+
+        scatter(items, ordinals, 0, from, to, offsets.clone(), sorted);
+        System.arraycopy(sorted, 0, items, from, sorted.length);
+
+        offsets = shift(offsets, from);
+        fill(ordinals, offsets);
+
+        return offsets;
+    }
+
+
+    /**
+     * Sort records by country in place, splitting the work into tasks
+     * that run in parallel on an executor. Keys are extracted and counted
+     * per task, and each task then scatters its own records, so the
+     * result is the same as that of {@link #sort(Object[], int, int, Extractor)}.
+     *
+     * @param items
+     *         Records.
+     *
+     * @param from
+     *         Index of the first record (inclusive).
+     *
+     * @param to
+     *         Index of the last record (exclusive).
+     *
+     * @param extractor
+     *         Extractor of the country of a record. Called concurrently.
+     *
+     * @param executor
+     *         Executor to run the tasks on.
+     *
+     * @param tasks
+     *         The number of tasks, typically the number of threads
+     *         of the executor.
+     *
+     * @return
+     *         Offsets of the buckets in items. See {@link #offsets(int[], int)}.
+     *
+     * @throws InterruptedException
+     *         Interrupted while waiting for the tasks.
+     */
+    public static <T> int[] sort(final T[] items, int from, int to, final Extractor<? super T> extractor, ExecutorService executor, int tasks) throws InterruptedException
+    {
+        final int base = from;
+        final int[] bounds = split(from, to, tasks);
+        final int[] ordinals = new int[to - from];
+        final Object[] sorted = new Object[to - from];
+        List<Callable<int[]>> callables = new ArrayList<Callable<int[]>>(tasks);
+
+        // Pass 1: extract and count the keys of each task's records.
+        for (int t = 0; t < tasks; ++t)
+        {
+            final int task = t;
+
+            callables.add(new Callable<int[]>() {
+                public int[] call()
+                {
+                    extract(items, bounds[task], bounds[task + 1], extractor, ordinals, bounds[task] - base);
+
+                    return histogram(ordinals, bounds[task] - base, bounds[task + 1] - base);
+                }
+            });
+        }
+
+        final int[][] next = getAll(executor.invokeAll(callables)).toArray(new int[tasks][]);
+
+        // Each task's part of a bucket starts where the part of the
+        // previous task ends, which keeps the sort stable.
+        int[] offsets = new int[BUCKETS + 1];
+
+        for (int k = 0, position = 0; k < BUCKETS; ++k)
+        {
+            offsets[k] = position;
+
+            for (int t = 0; t < tasks; ++t)
+            {
+                int count = next[t][k];
+
+                next[t][k] = position;
+                position += count;
+            }
+
+            offsets[k + 1] = position;
+        }
+
+        // Pass 2: scatter each task's records.
+        List<Callable<int[]>> scatters = new ArrayList<Callable<int[]>>(tasks);
+
+        for (int t = 0; t < tasks; ++t)
+        {
+            final int task = t;
+
+            scatters.add(new Callable<int[]>() {
+                public int[] call()
+                {
+                    scatter(items, ordinals, -base, bounds[task], bounds[task + 1], next[task], sorted);
+
+                    return null;
+                }
+            });
+        }
+
+        getAll(executor.invokeAll(scatters));
+
+        System.arraycopy(sorted, 0, items, from, sorted.length);
+
+        return shift(offsets, from);
+    }
+
+
+    /**
+     * Compute the stable permutation that sorts records by key, without
+     * moving the records. Useful for columnar data where several arrays
+     * must be reordered the same way.
+     *
+     * @param ordinals
+     *         Keys of the records.
+     *
+     * @param from
+     *         Index of the first key (inclusive).
+     *
+     * @param to
+     *         Index of the last key (exclusive).
+     *
+     * @param dst
+     *         Destination of the permutation: the indices (from
+     *         {@code from} to {@code to - 1}) of the records in sorted
+     *         order.
+     *
+     * @param dstOff
+     *         Index in dst of the first index.
+     *
+     * @return
+     *         Offsets of the buckets in dst. See {@link #offsets(int[], int)}.
+     */
+    public static int[] permutation(int[] ordinals, int from, int to, int[] dst, int dstOff)
+    {
+        int[] offsets = offsets(histogram(ordinals, from, to), dstOff);
+        int[] next = offsets.clone();
+
+        for (int i = from; i < to; ++i)
+        {
+            dst[next[ordinals[i]]++] = i;
+        }
+
+        return offsets;
+    }
+
+
+    private static <T> void extract(T[] items, int from, int to, Extractor<? super T> extractor, int[] ordinals, int ordinalsOff)
+    {
+        for (int i = from; i < to; ++i)
+        {
+            CountryCode cc = extractor.getCountryCode(items[i]);
+
+            ordinals[ordinalsOff + i - from] = (cc == null) ? NULL_KEY : cc.ordinal();
+        }
+    }
+
+
+    /**
+     * Move src[from..to) to dst by key. The key of src[i] is
+     * ordinals[i + ordinalsShift]. next[k] is the position in dst
+     * of the next record with key k and is advanced.
+     */
+    private static void scatter(Object[] src, int[] ordinals, int ordinalsShift, int from, int to, int[] next, Object[] dst)
+    {
+        for (int i = from; i < to; ++i)
+        {
+            dst[next[ordinals[i + ordinalsShift]]++] = src[i];
+        }
+    }
+
+
+    /**
+     * Set every key in sorted order, given the offsets of the buckets.
+     */
+    private static void fill(int[] ordinals, int[] offsets)
+    {
+        for (int k = 0; k < BUCKETS; ++k)
+        {
+            for (int i = offsets[k]; i < offsets[k + 1]; ++i)
+            {
+                ordinals[i] = k;
+            }
+        }
+    }
+
+
+    private static int[] shift(int[] offsets, int delta)
+    {
+        for (int k = 0; k < offsets.length; ++k)
+        {
+            offsets[k] += delta;
+        }
+
+        return offsets;
+    }
+
+
+    /**
+     * Split [from, to) into tasks ranges of nearly equal size.
+     *
+     * @return
+     *         tasks + 1 bounds.
+     */
+    private static int[] split(int from, int to, int tasks)
+    {
+        if (tasks <= 0)
+        {
+            throw new IllegalArgumentException("tasks must be positive: " + tasks);
+        }
+
+        int[] bounds = new int[tasks + 1];
+
+        for (int t = 0; t <= tasks; ++t)
+        {
+            bounds[t] = from + (int)((long)(to - from) * t / tasks);
+        }
+
+        return bounds;
+    }
+
+
+    private static <V> List<V> getAll(List<Future<V>> futures) throws InterruptedException
+    {
+        List<V> results = new ArrayList<V>(futures.size());
+
+        for (Future<V> future : futures)
+        {
+            try
+            {
+                results.add(future.get());
+            }
+            catch (ExecutionException e)
+            {
+                Throwable cause = e.getCause();
+
+                if (cause instanceof RuntimeException)
+                {
+                    throw (RuntimeException)cause;
+                }
+
+                if (cause instanceof Error)
+                {
+                    throw (Error)cause;
+                }
+
+                throw new IllegalStateException(cause);
+            }
+        }
+
+        return results;
+    }
+}
@@ -0,0 +1,533 @@
+/*
+ * Copyright (C) 2012 Neo Visionaries Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+/**
+ * Packed integer representation of
+ * <a href="http://en.wikipedia.org/wiki/ISO_3166-1_alpha-2">alpha-2</a> and
+ * <a href="http://en.wikipedia.org/wiki/ISO_3166-1_alpha-3">alpha-3</a> codes.
+ *
+ * <p>
+ * Each upper-case letter 'A'..'Z' is stored in 5 bits as 1..26, first
+ * letter in the most significant position. An alpha-2 code fits in 10 bits
+ * (a {@code char}) and an alpha-3 code in 15 bits. The value 0 never
+ * represents a valid code and is used for invalid input.
+ * </p>
+ *
+ * <p>
+ * The bulk methods take columns of fixed-width ASCII codes (2 or 3 bytes
+ * per code, no separators) and check them 8 bytes at a time with SWAR
+ * (SIMD within a register) arithmetic on {@code long} words.
+ * </p>
+ *
+ * <pre style="background-color: #EEEEEE; margin-left: 2em; margin-right: 2em; border: 1px solid black;">
+ * byte[] column = "JPUSGB".getBytes("US-ASCII");
+ * char[] packed = new char[3];
+ *
+ * PackedCountryCode.{@link #packAlpha2(byte[], int, char[], int, int) packAlpha2}(column, 0, packed, 0, 3);
+ *
+ * CountryCode cc = CountryCode.{@link CountryCode#fromPackedAlpha2(int) fromPackedAlpha2}(packed[1]);  <span style="color: darkgreen;">// US</span>
+ * </pre>
+ */
+public final class PackedCountryCode
+{
+    private static final long ONES  = 0x0101010101010101L;
+    private static final long HIGHS = 0x8080808080808080L;
+
+    /**
+     * Adding this to a byte b (b &lt; 0x80) sets bit 7 iff b &gt;= 'A'.
+     */
+    private static final long GE_A = ONES * (0x80 - 'A');
+
+    /**
+     * Adding this to a byte b (b &lt; 0x80) sets bit 7 iff b &gt; 'Z'.
+     */
+    private static final long GT_Z = ONES * (0x80 - 'Z' - 1);
+
+    /**
+     * High bits of the two bytes of one 16-bit (alpha-2) lane.
+     */
+    private static final long PAIR_HIGHS = 0x8080L;
+
+
+    private PackedCountryCode()
+    {
+    }
+
+
+    /**
+     * Pack an alpha-2 code.
+     *
+     * @param code
+     *         An upper-case alpha-2 code such as "JP".
+     *
+     * @return
+     *         The packed code, or 0 if code is null or is not two
+     *         upper-case ASCII letters.
+     */
+    public static char packAlpha2(CharSequence code)
+    {
+        if (code == null || code.length() != 2)
+        {
+            return 0;
+        }
+
+        int c0 = letter(code.charAt(0));
+        int c1 = letter(code.charAt(1));
+
+        if ((c0 | c1) < 0)
+        {
+            return 0;
+        }
+
+        return (char)((c0 << 5) | c1);
+    }
+
+
+    /**
+     * Pack an alpha-3 code.
+     *
+     * @param code
+     *         An upper-case alpha-3 code such as "JPN".
+     *
+     * @return
+     *         The packed code, or 0 if code is null or is not three
+     *         upper-case ASCII letters.
+     */
+    public static int packAlpha3(CharSequence code)
+    {
+        if (code == null || code.length() != 3)
+        {
+            return 0;
+        }
+
+        int c0 = letter(code.charAt(0));
+        int c1 = letter(code.charAt(1));
+        int c2 = letter(code.charAt(2));
+
+        if ((c0 | c1 | c2) < 0)
+        {
+            return 0;
+        }
+
+        return (c0 << 10) | (c1 << 5) | c2;
+    }
+
+
+    /**
+     * Unpack a packed alpha-2 code.
+     *
+     * @param packed
+     *         A packed alpha-2 code.
+     *
+     * @return
+     *         The alpha-2 code, or null if packed is not a valid
+     *         packed alpha-2 code.
+     */
+    public static String unpackAlpha2(int packed)
+    {
+        if (isValidPacked(packed, 2) == false)
+        {
+            return null;
+        }
+
+        return new String(new char[] {
+            (char)('@' + ((packed >>> 5) & 0x1F)),
+            (char)('@' + (packed & 0x1F)) });
+    }
+
+
+    /**
+     * Unpack a packed alpha-3 code.
+     *
+     * @param packed
+     *         A packed alpha-3 code.
+     *
+     * @return
+     *         The alpha-3 code, or null if packed is not a valid
+     *         packed alpha-3 code.
+     */
+    public static String unpackAlpha3(int packed)
+    {
+        if (isValidPacked(packed, 3) == false)
+        {
+            return null;
+        }
+
+        return new String(new char[] {
+            (char)('@' + ((packed >>> 10) & 0x1F)),
+            (char)('@' + ((packed >>> 5) & 0x1F)),
+            (char)('@' + (packed & 0x1F)) });
+    }
+
+
+    /**
+     * Check if all bytes in a range are upper-case ASCII letters.
+     * The range is checked 8 bytes at a time.
+     *
+     * @param src
+     *         Source bytes.
+     *
+     * @param off
+     *         Offset of the first byte to check.
+     *
+     * @param len
+     *         Number of bytes to check.
+     *
+     * @return
+     *         The index of the first byte that is not 'A'..'Z',
+     *         or -1 if all bytes are valid.
+     */
+    public static int indexOfNonLetter(byte[] src, int off, int len)
+    {
+        int end = off + len;
+        int i   = off;
+
+        for (; i + 8 <= end; i += 8)
+        {
+            long bad = nonLetterBits(getLong(src, i));
+
+            if (bad != 0)
+            {
+                return i + (Long.numberOfTrailingZeros(bad) >>> 3);
+            }
+        }
+
+        for (; i < end; ++i)
+        {
+            if (letter(src[i]) < 0)
+            {
+                return i;
+            }
+        }
+
+        return -1;
+    }
+
+
+    /**
+     * Pack a column of alpha-2 codes. The source holds {@code count}
+     * codes of 2 bytes each, with no separators. Four codes are
+     * validated and packed per 8-byte word.
+     *
+     * @param src
+     *         Source bytes.
+     *
+     * @param srcOff
+     *         Offset of the first code in src.
+     *
+     * @param dst
+     *         Destination of packed codes. Invalid codes are stored as 0.
+     *
+     * @param dstOff
+     *         Offset of the first packed code in dst.
+     *
+     * @param count
+     *         Number of codes.
+     *
+     * @return
+     *         The number of invalid codes.
+     */
+    public static int packAlpha2(byte[] src, int srcOff, char[] dst, int dstOff, int count)
+    {
+        int invalid = 0;
+        int i = 0;
+
+        for (; i + 4 <= count; i += 4)
+        {
+            long word = getLong(src, srcOff + (i << 1));
+            long bad  = nonLetterBits(word);
+
+            // The low 5 bits of 'A'..'Z' are already 1..26. Little-endian:
+            // the first letter of each code is the low byte of its lane.
+            long lanes = ((word & 0x001F001F001F001FL) << 5) | ((word >>> 8) & 0x001F001F001F001FL);
+
+            for (int k = 0; k < 4; ++k)
+            {
+                int shift = k << 4;
+
+                if (((bad >>> shift) & PAIR_HIGHS) != 0)
+                {
+                    dst[dstOff + i + k] = 0;
+                    ++invalid;
+                }
+                else
+                {
+                    dst[dstOff + i + k] = (char)((lanes >>> shift) & 0x3FF);
+                }
+            }
+        }
+
+        for (; i < count; ++i)
+        {
+            int p = srcOff + (i << 1);
+            int c0 = letter(src[p]);
+            int c1 = letter(src[p + 1]);
+
+            if ((c0 | c1) < 0)
+            {
+                dst[dstOff + i] = 0;
+                ++invalid;
+            }
+            else
+            {
+                dst[dstOff + i] = (char)((c0 << 5) | c1);
+            }
+        }
+
+        return invalid;
+    }
+
+
+    /**
+     * Pack a column of alpha-3 codes. The source holds {@code count}
+     * codes of 3 bytes each, with no separators. Eight codes (24 bytes,
+     * three words) are validated at a time.
+     *
+     * @param src
+     *         Source bytes.
+     *
+     * @param srcOff
+     *         Offset of the first code in src.
+     *
+     * @param dst
+     *         Destination of packed codes. Invalid codes are stored as 0.
+     *
+     * @param dstOff
+     *         Offset of the first packed code in dst.
+     *
+     * @param count
+     *         Number of codes.
+     *
+     * @return
+     *         The number of invalid codes.
+     */
+    public static int packAlpha3(byte[] src, int srcOff, int[] dst, int dstOff, int count)
+    {
+        int invalid = 0;
+        int i = 0;
+
+        for (; i + 8 <= count; i += 8)
+        {
+            int p = srcOff + i * 3;
+
+            long bad = nonLetterBits(getLong(src, p))
+                     | nonLetterBits(getLong(src, p + 8))
+                     | nonLetterBits(getLong(src, p + 16));
+
+            if (bad == 0)
+            {
+                // Fast path: the whole block is letters.
+                for (int k = 0; k < 8; ++k, p += 3)
+                {
+                    dst[dstOff + i + k] = ((src[p] & 0x1F) << 10) | ((src[p + 1] & 0x1F) << 5) | (src[p + 2] & 0x1F);
+                }
+            }
+            else
+            {
+                invalid += packAlpha3Slow(src, p, dst, dstOff + i, 8);
+            }
+        }
+
+        return invalid + packAlpha3Slow(src, srcOff + i * 3, dst, dstOff + i, count - i);
+    }
+
+
+    private static int packAlpha3Slow(byte[] src, int p, int[] dst, int dstOff, int count)
+    {
+        int invalid = 0;
+
+        for (int k = 0; k < count; ++k, p += 3)
+        {
+            int c0 = letter(src[p]);
+            int c1 = letter(src[p + 1]);
+            int c2 = letter(src[p + 2]);
+
+            if ((c0 | c1 | c2) < 0)
+            {
+                dst[dstOff + k] = 0;
+                ++invalid;
+            }
+            else
+            {
+                dst[dstOff + k] = (c0 << 10) | (c1 << 5) | c2;
+            }
+        }
+
+        return invalid;
+    }
+
+
+    /**
+     * Get the CountryCode for a packed alpha-2 code.
+     */
+    static CountryCode decodeAlpha2(int packed)
+    {
+        if ((packed & ~0x3FF) != 0)
+        {
+            return null;
+        }
+
+        int index = Alpha2Table.table[packed] & 0xFF;
+
+        return index == 0 ? null : Alpha2Table.values[index - 1];
+    }
+
+
+    /**
+     * Get the CountryCode for a packed alpha-3 code.
+     */
+    static CountryCode decodeAlpha3(int packed)
+    {
+        if ((packed & ~0x7FFF) != 0)
+        {
+            return null;
+        }
+
+        int index = Alpha3Table.table[packed] & 0xFF;
+
+        return index == 0 ? null : Alpha3Table.values[index - 1];
+    }
+
+
+    /**
+     * Get the ordinal of the CountryCode for a packed alpha-2 code.
+     *
+     * @return
+     *         The ordinal, or -1 if not found.
+     */
+    static int ordinalOfAlpha2(int packed)
+    {
+        return (Alpha2Table.table[packed & 0x3FF] & 0xFF) - 1;
+    }
+
+
+    /**
+     * Get the ordinal of the CountryCode for a packed alpha-3 code.
+     *
+     * @return
+     *         The ordinal, or -1 if not found.
+     */
+    static int ordinalOfAlpha3(int packed)
+    {
+        return (Alpha3Table.table[packed & 0x7FFF] & 0xFF) - 1;
+    }
+
+
+    /**
+     * Convert an upper-case ASCII letter to 1..26.
+     *
+     * @return
+     *         1..26, or a negative value if c is not 'A'..'Z'.
+     */
+    private static int letter(int c)
+    {
+        return ('A' <= c && c <= 'Z') ? c - '@' : -1;
+    }
+
+
+    private static boolean isValidPacked(int packed, int letters)
+    {
+        if ((packed >>> (letters * 5)) != 0)
+        {
+            return false;
+        }
+
+        for (int i = 0; i < letters; ++i, packed >>>= 5)
+        {
+            int c = packed & 0x1F;
+
+            if (c == 0 || 26 < c)
+            {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+
+    /**
+     * Get a word whose bit 7 of each byte is set iff that byte
+     * is not 'A'..'Z'.
+     */
+    private static long nonLetterBits(long x)
+    {
+        // A byte is a letter iff it is ASCII (bit 7 clear), >= 'A'
+        // and not > 'Z'. The additions cannot carry across bytes
+        // once non-ASCII bytes are masked out.
+        long ascii = x & ~HIGHS;
+        long ok    = ~x & (ascii + GE_A) & ~(ascii + GT_Z);
+
+        return ~ok & HIGHS;
+    }
+
+
+    /**
+     * Read 8 bytes as a little-endian long.
+     */
+    private static long getLong(byte[] b, int i)
+    {
+        return ((b[i    ] & 0xFFL)      )
+             | ((b[i + 1] & 0xFFL) <<  8)
+             | ((b[i + 2] & 0xFFL) << 16)
+             | ((b[i + 3] & 0xFFL) << 24)
+             | ((b[i + 4] & 0xFFL) << 32)
+             | ((b[i + 5] & 0xFFL) << 40)
+             | ((b[i + 6] & 0xFFL) << 48)
+             | ((b[i + 7] & 0xFFL) << 56);
+    }
+
+
+    /**
+     * Direct lookup table from packed alpha-2 codes to (ordinal + 1),
+     * with 0 meaning "no such code". Built on first use.
+     */
+    private static final class Alpha2Table
+    {
+        static final CountryCode[] values = CountryCode.values();
+        static final byte[] table = new byte[1 << 10];
+
+
+        static
+        {
+            for (CountryCode cc : values)
+            {
+                table[cc.getPackedAlpha2()] = (byte)(cc.ordinal() + 1);
+            }
+        }
+    }
+
+
+    /**
+     * Direct lookup table from packed alpha-3 codes to (ordinal + 1),
+     * with 0 meaning "no such code". Built on first use.
+     */
+    private static final class Alpha3Table
+    {
+        static final CountryCode[] values = CountryCode.values();
+        static final byte[] table = new byte[1 << 15];
+
+
+        static
+        {
+            for (CountryCode cc : values)
+            {
+                table[cc.getPackedAlpha3()] = (byte)(cc.ordinal() + 1);
+            }
+        }
+    }
+}
@@ -0,0 +1,260 @@
+/*
+ * Copyright (C) 2012 Neo Visionaries Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+import java.util.HashMap;
+import java.util.Map;
+
+
+/**
+ * Geographic region or political/business grouping of countries.
+ *
+ * <p>
+ * Regions and sub-regions follow the
+ * <a href="http://en.wikipedia.org/wiki/UN_M.49">UN M.49</a> standard
+ * and are identified by their three-digit M.49 code (e.g. "150" for
+ * Europe). Every {@link CountryCode} except {@link CountryCode#AQ AQ}
+ * belongs to exactly one sub-region ({@link CountryCode#getSubRegion()})
+ * and, through it, to exactly one region ({@link CountryCode#getRegion()}).
+ * </p>
+ *
+ * <p>
+ * Groupings such as {@link #EU}, {@link #EMEA} and {@link #LATAM} are
+ * identified by their conventional abbreviation and are made up of
+ * other regions and/or individually listed countries.
+ * </p>
+ *
+ * <p>
+ * Members of each region are precomputed once. Use
+ * {@link CountryCode#inRegion(Region)} to get them and
+ * {@link CountryCode#isInRegion(CountryCode, Region)} to test
+ * membership.
+ * </p>
+ */
+public enum Region
+{
+    // @formatter:off
+    /** <a href="http://en.wikipedia.org/wiki/Africa">Africa</a> (002) */
+    AFRICA("002", "Africa", null),
+
+    /** <a href="http://en.wikipedia.org/wiki/Americas">Americas</a> (019) */
+    AMERICAS("019", "Americas", null),
+
+    /** <a href="http://en.wikipedia.org/wiki/Asia">Asia</a> (142) */
+    ASIA("142", "Asia", null),
+
+    /** <a href="http://en.wikipedia.org/wiki/Europe">Europe</a> (150) */
+    EUROPE("150", "Europe", null),
+
+    /** <a href="http://en.wikipedia.org/wiki/Oceania">Oceania</a> (009) */
+    OCEANIA("009", "Oceania", null),
+
+    /** <a href="http://en.wikipedia.org/wiki/North_Africa">Northern Africa</a> (015) */
+    NORTHERN_AFRICA("015", "Northern Africa", AFRICA),
+
+    /** <a href="http://en.wikipedia.org/wiki/Sub-Saharan_Africa">Sub-Saharan Africa</a> (202) */
+    SUB_SAHARAN_AFRICA("202", "Sub-Saharan Africa", AFRICA),
+
+    /** <a href="http://en.wikipedia.org/wiki/Latin_America_and_the_Caribbean">Latin America and the Caribbean</a> (419) */
+    LATIN_AMERICA_AND_THE_CARIBBEAN("419", "Latin America and the Caribbean", AMERICAS),
+
+    /** <a href="http://en.wikipedia.org/wiki/Northern_America">Northern America</a> (021) */
+    NORTHERN_AMERICA("021", "Northern America", AMERICAS),
+
+    /** <a href="http://en.wikipedia.org/wiki/Central_Asia">Central Asia</a> (143) */
+    CENTRAL_ASIA("143", "Central Asia", ASIA),
+
+    /** <a href="http://en.wikipedia.org/wiki/East_Asia">Eastern Asia</a> (030) */
+    EASTERN_ASIA("030", "Eastern Asia", ASIA),
+
+    /** <a href="http://en.wikipedia.org/wiki/Southeast_Asia">South-eastern Asia</a> (035) */
+    SOUTH_EASTERN_ASIA("035", "South-eastern Asia", ASIA),
+
+    /** <a href="http://en.wikipedia.org/wiki/South_Asia">Southern Asia</a> (034) */
+    SOUTHERN_ASIA("034", "Southern Asia", ASIA),
+
+    /** <a href="http://en.wikipedia.org/wiki/Western_Asia">Western Asia</a> (145) */
+    WESTERN_ASIA("145", "Western Asia", ASIA),
+
+    /** <a href="http://en.wikipedia.org/wiki/Eastern_Europe">Eastern Europe</a> (151) */
+    EASTERN_EUROPE("151", "Eastern Europe", EUROPE),
+
+    /** <a href="http://en.wikipedia.org/wiki/Northern_Europe">Northern Europe</a> (154) */
+    NORTHERN_EUROPE("154", "Northern Europe", EUROPE),
+
+    /** <a href="http://en.wikipedia.org/wiki/Southern_Europe">Southern Europe</a> (039) */
+    SOUTHERN_EUROPE("039", "Southern Europe", EUROPE),
+
+    /** <a href="http://en.wikipedia.org/wiki/Western_Europe">Western Europe</a> (155) */
+    WESTERN_EUROPE("155", "Western Europe", EUROPE),
+
+    /** <a href="http://en.wikipedia.org/wiki/Australasia">Australia and New Zealand</a> (053) */
+    AUSTRALIA_AND_NEW_ZEALAND("053", "Australia and New Zealand", OCEANIA),
+
+    /** <a href="http://en.wikipedia.org/wiki/Melanesia">Melanesia</a> (054) */
+    MELANESIA("054", "Melanesia", OCEANIA),
+
+    /** <a href="http://en.wikipedia.org/wiki/Micronesia">Micronesia</a> (057) */
+    MICRONESIA("057", "Micronesia", OCEANIA),
+
+    /** <a href="http://en.wikipedia.org/wiki/Polynesia">Polynesia</a> (061) */
+    POLYNESIA("061", "Polynesia", OCEANIA),
+
+    /** <a href="http://en.wikipedia.org/wiki/European_Union">European Union</a> member states */
+    EU("EU", "European Union", new Region[] {}, new String[] {
+        "AT", "BE", "BG", "CY", "CZ", "DE", "DK", "EE", "ES", "FI", "FR", "GR", "HR", "HU",
+        "IE", "IT", "LT", "LU", "LV", "MT", "NL", "PL", "PT", "RO", "SE", "SI", "SK" }),
+
+    /** <a href="http://en.wikipedia.org/wiki/European_Economic_Area">European Economic Area</a> */
+    EEA("EEA", "European Economic Area", new Region[] { EU }, new String[] { "IS", "LI", "NO" }),
+
+    /** Europe, the Middle East (Western Asia) and Africa */
+    EMEA("EMEA", "Europe, the Middle East and Africa", new Region[] { EUROPE, WESTERN_ASIA, AFRICA }, new String[] {}),
+
+    /** Asia-Pacific: Asia except Western Asia, and Oceania */
+    APAC("APAC", "Asia-Pacific", new Region[] {
+        CENTRAL_ASIA, EASTERN_ASIA, SOUTH_EASTERN_ASIA, SOUTHERN_ASIA, OCEANIA }, new String[] {}),
+
+    /** <a href="http://en.wikipedia.org/wiki/Latin_America">Latin America</a> and the Caribbean */
+    LATAM("LATAM", "Latin America", new Region[] { LATIN_AMERICA_AND_THE_CARIBBEAN }, new String[] {}),
+    ;
+    // @formatter:on
+
+
+    private static final Map<String, Region> codeMap = new HashMap<String, Region>();
+
+
+    static
+    {
+        for (Region r : values())
+        {
+            codeMap.put(r.getCode(), r);
+        }
+    }
+
+
+    private final String code;
+    private final String name;
+    private final Region parent;
+    private final Region[] components;
+    private final String[] members;
+
+
+    private Region(String code, String name, Region parent)
+    {
+        this.code = code;
+        this.name = name;
+        this.parent = parent;
+        this.components = null;
+        this.members = null;
+    }
+
+
+    private Region(String code, String name, Region[] components, String[] members)
+    {
+        this.code = code;
+        this.name = name;
+        this.parent = null;
+        this.components = components;
+        this.members = members;
+    }
+
+
+    /**
+     * Get the region code.
+     *
+     * @return
+     *         The three-digit <a href="http://en.wikipedia.org/wiki/UN_M.49"
+     *         >UN M.49</a> code, or the abbreviation for groupings
+     *         (e.g. "EU", "EMEA").
+     */
+    public String getCode()
+    {
+        return code;
+    }
+
+
+    /**
+     * Get the region name.
+     *
+     * @return
+     *         The region name.
+     */
+    public String getName()
+    {
+        return name;
+    }
+
+
+    /**
+     * Get the region that contains this sub-region.
+     *
+     * @return
+     *         The parent region, or null if this is a top-level
+     *         region or a grouping.
+     */
+    public Region getParent()
+    {
+        return parent;
+    }
+
+
+    /**
+     * Check if this is a grouping rather than a UN M.49 region.
+     *
+     * @return
+     *         true if this is a grouping such as {@link #EU}.
+     */
+    public boolean isGrouping()
+    {
+        return components != null;
+    }
+
+
+    Region[] getComponents()
+    {
+        return components;
+    }
+
+
+    String[] getMembers()
+    {
+        return members;
+    }
+
+
+    /**
+     * Get a Region that corresponds to a given region code.
+     * This method does not allocate.
+     *
+     * @param code
+     *         A three-digit <a href="http://en.wikipedia.org/wiki/UN_M.49"
+     *         >UN M.49</a> code (e.g. "150") or a grouping abbreviation
+     *         (e.g. "EU").
+     *
+     * @return
+     *         A Region instance, or null if not found.
+     */
+    public static Region getByCode(String code)
+    {
+        if (code == null)
+        {
+            return null;
+        }
+
+        return codeMap.get(code);
+    }
+}